@@ -1,13 +1,8 @@
 package com.github.zhitron.universal;
 
+import java.io.IOException;
 import java.time.*;
-import java.util.Collections;
 import java.util.Date;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.function.BiConsumer;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * 时间对象
@@ -16,25 +11,30 @@ import java.util.regex.Pattern;
  */
 @SuppressWarnings("UnusedReturnValue")
 public class Moment implements Comparable<Moment> {
-    private static final ZoneId UTC = ZoneId.of("UTC");
+    static final ZoneId UTC = ZoneId.of("UTC");
     private static final int[][] MD = {{31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31}, {31, 29, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31}};
     private static final int[] YD = {365, 366};
-    private static final int SECOND_NEXT = 60, MINUTE_NEXT = 60, HOUR_NEXT = 24, MONTH_NEXT = 12, YEAR_START = 1970;
-    private static final long SECOND_MS = 1000, MINUTE_MS = SECOND_MS * SECOND_NEXT, HOUR_MS = MINUTE_MS * MINUTE_NEXT, DAY_MS = HOUR_MS * HOUR_NEXT;
-    private static final Pattern P_EXCLUDE = Pattern.compile("\\D+"),
-            P_DATE_NUM = Pattern.compile("(?<date>[1-9]\\d{3}((0[13578]|10|12)31|(0[0-13-9]|1[012])30|(0\\d|1[012])[012]\\d))"),
-            P_YEAR = Pattern.compile("(?<y>[\\[(\"']?((\\d\\s*?){2}){1,2}[])\"']?[ 年\\\\/-]?\\s*)"),
-            P_MONTH = Pattern.compile("(?<m>(\\d\\s*?){1,2}[ 月\\\\/-]\\s*)"),
-            P_DAY = Pattern.compile("(?<d>(\\d\\s*?){1,2}('T'|[ 日\\\\/T-])\\s*?)"),
-            P_QUARTER = Pattern.compile("(?<q>((第\\s*?[1234一二三四]|[上下本])?\\s*?季度[初末]?)|(Q\\s*?[1-4]\\s*?(季度)?[初末]?))");
-    private static final Pattern
-            P_DATE_STR = Pattern.compile(P_YEAR.pattern() + P_MONTH.pattern() + P_DAY.pattern()),
-            P_DATE_QUARTER = Pattern.compile(P_YEAR.pattern() + "?" + P_QUARTER.pattern()),
-            P_DATE_FOR_CHINA = Pattern.compile("(((\\d\\s*?){2}){1,2}年|(本|[上去]{1,2}|[下明]{1,2}))?(年?[年期月]|期期|月月)[初末]?");
+    private static final int SECOND_NEXT = 60, MINUTE_NEXT = 60, HOUR_NEXT = 24, MONTH_NEXT = 12;
+    static final long SECOND_MS = 1000, MINUTE_MS = SECOND_MS * SECOND_NEXT, HOUR_MS = MINUTE_MS * MINUTE_NEXT, DAY_MS = HOUR_MS * HOUR_NEXT;
+    private static final long DAYS_PER_ERA = 146097, DAYS_0000_TO_1970 = 719468;
+    /**
+     * 预先生成的两位和三位补零数字字符串，字符串类型的属性域直接取表
+     */
+    private static final String[] TWO_DIGITS = new String[100], THREE_DIGITS = new String[1000];
+    private static final long EPOCH_DAY_MIN = toEpochDay(Integer.MIN_VALUE, 0, 0), EPOCH_DAY_MAX = toEpochDay(Integer.MAX_VALUE, 11, 30);
+
+    static {
+        for (int i = 0; i < THREE_DIGITS.length; i++) {
+            THREE_DIGITS[i] = String.valueOf(i + 1000).substring(1);
+        }
+        for (int i = 0; i < TWO_DIGITS.length; i++) {
+            TWO_DIGITS[i] = THREE_DIGITS[i].substring(1);
+        }
+    }
 
     private long timestamp;
     protected int year, month, day, hour, minute, second, millis, micros, nanos;
-    protected boolean update = false;
+    protected boolean update = false, resolve = false;
 
     protected Moment() {
     }
@@ -46,6 +46,29 @@ public class Moment implements Comparable<Moment> {
     }
 
     protected Moment(Moment moment) {
+        copyFrom(moment);
+    }
+
+    protected Moment(MomentValue value) {
+        this.timestamp = value.timestamp;
+        this.year = value.year;
+        this.month = value.month;
+        this.day = value.day;
+        this.hour = value.hour;
+        this.minute = value.minute;
+        this.second = value.second;
+        this.millis = value.millis;
+        this.micros = value.micros;
+        this.nanos = value.nanos;
+    }
+
+    /**
+     * 复制另一个时间对象的全部字段
+     *
+     * @param moment 源对象
+     * @return 返回this
+     */
+    final Moment copyFrom(Moment moment) {
         moment.update();
         this.timestamp = moment.timestamp;
         this.year = moment.year;
@@ -58,6 +81,8 @@ public class Moment implements Comparable<Moment> {
         this.micros = moment.micros;
         this.nanos = moment.nanos;
         this.update = moment.update;
+        this.resolve = moment.resolve;
+        return this;
     }
 
     /**
@@ -91,36 +116,6 @@ public class Moment implements Comparable<Moment> {
         return YD[year % 400 == 0 || (year % 4 == 0 && year % 100 != 0) ? 1 : 0];
     }
 
-    /**
-     * 解析日期时间格式字符串，将其拆分为格式化标记和普通文本的列表。
-     *
-     * @param format 日期时间格式字符串，如 "yyyy-MM-dd HH:mm:ss"
-     * @return 包含格式化标记和普通文本的列表
-     */
-    private static List<String> parseFormat(String format) {
-        int len = format.length(), s = 0;
-        List<String> list = new LinkedList<>();
-        boolean symbol = false;
-        for (int i = 0; i < len; i++) {
-            char c = format.charAt(i);
-            if ("yMdHmsS".indexOf(c) >= 0) {
-                if (!symbol) {
-                    if (s != i) list.add(format.substring(s, i));
-                    s = i;
-                }
-                symbol = true;
-            } else {
-                if (symbol) {
-                    if (s != i) list.add(format.substring(s, i));
-                    s = i;
-                }
-                symbol = false;
-            }
-        }
-        list.add(format.substring(s));
-        return list;
-    }
-
     /**
      * 解析中文日期
      *
@@ -128,213 +123,17 @@ public class Moment implements Comparable<Moment> {
      * @return 返回解析的日期
      */
     public String[] parseToDate(String input) {
-        List<Object> main = Collections.singletonList(input);
-        //处理“年月日”格式
-        main = parseToDate(main, P_DATE_STR, (matcher, date) -> {
-            String temp, tmp;
-            temp = matcher.group("y");
-            temp = P_EXCLUDE.matcher(temp).replaceAll("");
-            if (temp.length() == 2) {
-                temp = (tmp = getYearAsStr()).substring(0, tmp.length() - 2) + temp;
-            }
-            date.setYear(Integer.parseInt(temp));
-
-            temp = matcher.group("m");
-            temp = P_EXCLUDE.matcher(temp).replaceAll("");
-            date.setMonthIfCorrect(Integer.parseInt(temp));
-
-            temp = matcher.group("d");
-            temp = P_EXCLUDE.matcher(temp).replaceAll("");
-            date.setDayIfCorrect(Integer.parseInt(temp));
-        });
-        //处理“yyyyMMdd”格式
-        main = parseToDate(main, P_DATE_NUM, (matcher, date) -> {
-            String temp = matcher.group("date");
-            temp = P_EXCLUDE.matcher(temp).replaceAll("");
-            date.setDate(Integer.parseInt(temp));
-        });
-        //处理“季度”格式
-        main = parseToDate(main, P_DATE_QUARTER, (matcher, date) -> {
-            String temp, tmp;
-            temp = matcher.group("y");
-            if (temp != null) {
-                temp = P_EXCLUDE.matcher(temp).replaceAll("");
-                if (temp.length() == 2) {
-                    temp = (tmp = getYearAsStr()).substring(0, tmp.length() - 2) + temp;
-                }
-                date.setYear(Integer.parseInt(temp));
-            }
-            temp = matcher.group("q");
-            char[] cs = temp.toCharArray();
-            if (cs[0] == '第' || cs[0] == 'Q') {
-                date.setDay(1);
-                switch (cs[1]) {
-                    case '1':
-                    case '一':
-                        date.setMonth(1);
-                        break;
-                    case '2':
-                    case '二':
-                        date.setMonth(4);
-                        break;
-                    case '3':
-                    case '三':
-                        date.setMonth(7);
-                        break;
-                    default:
-                        date.setMonth(10);
-                        break;
-                }
-                if (cs.length < 3 || cs[cs.length - 1] != '初') {
-                    date.addMonth(3);
-                    date.addDay(-1);
-                }
-            } else {
-                int q = getQuarter();
-                date.setMonth((q - 1) * 3 + 1);
-                date.setDay(1);
-                if (cs.length < 2 || cs[cs.length - 1] != '初') {
-                    date.addMonth(3);
-                    date.addDay(-1);
-                }
-                date.addMonth(cs[0] == '下' ? 3 : (cs[0] == '上' ? -3 : 0));
-            }
-        });
-        //处理“中国日期”格式
-        main = parseToDate(main, P_DATE_FOR_CHINA, (matcher, date) -> {
-            String group = matcher.group();
-            char[] cs = group.toCharArray();
-            int len = cs.length;
-            Boolean flag = null;
-            int last = "初末".indexOf(cs[len - 1]) >= 0 ? 2 : 1;
-            if (cs[len - last] == '月') {
-                flag = false;
-                if (last == 1 || cs[len - 1] != '初') {
-                    date.setMonthEnd(0);
-                } else {
-                    date.setMonthStart(0);
-                }
-            } else if (cs[len - last] == '年') {
-                flag = true;
-                if (last == 1 || cs[len - 1] != '初') {
-                    date.setYearEnd();
-                } else {
-                    date.setYearStart();
-                }
-            } else {
-                if (last == 1 || cs[len - 1] != '初') {
-                    date.setQuarterEnd(0);
-                } else {
-                    date.setQuarterStart(0);
-                }
-            }
-            if ((len -= last) > 0) {
-                int i = 0, c = 0;
-                if (Character.isDigit(cs[i])) {
-                    int year = Character.digit(cs[i], 10);
-                    for (i++; i < len && Character.isDigit(cs[i]); i++) {
-                        System.out.println(year);
-                        year = 10 * year + Character.digit(cs[i], 10);
-                        System.out.println(year);
-                    }
-                    if (i == 2) {
-                        year = date.getYearAsNum() / 100 * 100 + year;
-                    }
-                    date.setYear(year);
-                    return;
-                }
-                if ("上去".indexOf(cs[i]) >= 0) {
-                    c--;
-                    if (++i < len && "上去".indexOf(cs[i]) >= 0) {
-                        c--;
-                        i++;
-                    }
-                } else if ("下明".indexOf(cs[i]) >= 0) {
-                    c++;
-                    if (++i < len && "下明".indexOf(cs[i]) >= 0) {
-                        c++;
-                        i++;
-                    }
-                } else {
-                    i++;
-                }
-                if (c != 0) {
-                    if (i == len) {
-                        if (flag == null || flag) {
-                            date.addYear(i * c);
-                        } else {
-                            date.addMonth(i * c);
-                        }
-                    } else {
-                        switch (cs[i]) {
-                            case '期':
-                            case '年':
-                                date.addYear(i * c);
-                                break;
-                            case '月':
-                                date.addMonth(i * c);
-                                break;
-                            default:
-                                break;
-                        }
-                    }
-                }
-            }
-        });
-        //处理“只有年”格式
-        main = parseToDate(main, P_YEAR, (matcher, date) -> {
-            String temp, tmp;
-            temp = matcher.group("y");
-            temp = P_EXCLUDE.matcher(temp).replaceAll("");
-            if (temp.length() == 2) {
-                temp = (tmp = getYearAsStr()).substring(0, tmp.length() - 2) + temp;
-            }
-            date.setYear(Integer.parseInt(temp));
-        });
-
-        return main.stream().filter(o -> o instanceof Moment).map(o -> ((Moment) o).getDateAsStr()).toArray(String[]::new);
+        return new MomentTextScanner(this, input).dates();
     }
 
     /**
-     * 将字符串解析为日期对象列表
+     * 解析中文日期，按在文本中的位置依次回调每个匹配，不缓存匹配结果，适合流式处理很大的文本
      *
-     * @param main    包含待解析字符串和已解析日期对象的列表
-     * @param pattern 用于匹配日期格式的正则表达式模式
-     * @param handle  处理匹配结果的函数，接受匹配器和日期对象作为参数
-     * @return 包含原始字符串片段和解析后的日期对象的列表
+     * @param input   输入中文文字
+     * @param handler 匹配结果的接收者，返回{@code false}时停止解析
      */
-    private List<Object> parseToDate(List<Object> main, Pattern pattern, BiConsumer<Matcher, Moment> handle) {
-        List<Object> list = new LinkedList<>();
-        String string;
-        // 遍历主列表中的每个元素
-        for (Object object : main) {
-            // 如果元素已经是日期对象，则直接添加到结果列表中
-            if (object instanceof Moment) {
-                list.add(object);
-                continue;
-            }
-            // 将元素转换为字符串进行处理
-            string = (String) object;
-            int last = 0;
-            // 使用给定的正则表达式模式匹配字符串
-            for (Matcher matcher = pattern.matcher(string); matcher.find(); ) {
-                int start = matcher.start(), end = matcher.end();
-                // 如果匹配项之前有未处理的字符串，则将其添加到结果列表中
-                if (start != last) {
-                    list.add(string.substring(last, start));
-                }
-                last = end;
-                // 从当前对象复制一个新日期对象
-                Moment date = new Moment(this);
-                // 使用提供的处理函数处理匹配结果
-                handle.accept(matcher, date);
-                // 将处理后的日期对象添加到结果列表中
-                list.add(date);
-            }
-            // 添加最后一个匹配项之后的字符串片段
-            list.add(string.substring(last));
-        }
-        return list;
+    public void parseToDate(CharSequence input, MomentTextHandler handler) {
+        new MomentTextScanner(this, input).scan(handler);
     }
 
     /**
@@ -376,6 +175,17 @@ public class Moment implements Comparable<Moment> {
         return new Moment(input, 0, 0);
     }
 
+    /**
+     * 创建只保存时间戳的{@link Moment}，日历字段在首次读取时才分解
+     *
+     * @param input 输入参数
+     * @return {@link Moment}
+     * @see #setTimestampLazily(long)
+     */
+    public static Moment ofLazily(long input) {
+        return new Moment().setTimestampLazily(input);
+    }
+
     /**
      * 创建{@link Moment}
      *
@@ -437,6 +247,16 @@ public class Moment implements Comparable<Moment> {
         return new Moment().setTimestamp(input);
     }
 
+    /**
+     * 创建{@link Moment}
+     *
+     * @param input 输入参数
+     * @return {@link Moment}
+     */
+    public static Moment of(MomentValue input) {
+        return new Moment(input);
+    }
+
     /**
      * 创建{@link Moment}
      *
@@ -467,30 +287,30 @@ public class Moment implements Comparable<Moment> {
      */
     public final Moment update() {
         if (this.update) {
-            long value = 0;
-            if (year >= YEAR_START) {
-                value += millis;
-                value += second * SECOND_MS;
-                value += minute * MINUTE_MS;
-                value += hour * HOUR_MS;
-                value += day * DAY_MS;
-                for (int v = 0; v < month; v++) value += MD[leap(year)][v] * DAY_MS;
-                for (int v = YEAR_START; v < year; v++) value += YD[leap(v)] * DAY_MS;
-            } else {
-                value -= (1000 - millis);
-                value -= (SECOND_NEXT - 1 - second) * SECOND_MS;
-                value -= (MINUTE_NEXT - 1 - minute) * MINUTE_MS;
-                value -= (HOUR_NEXT - 1 - hour) * HOUR_MS;
-                value -= (MD[leap(year)][month] - 1 - day) * DAY_MS;
-                for (int v = MONTH_NEXT - 1; v > month; v--) value -= MD[leap(year)][v] * DAY_MS;
-                for (int v = YEAR_START - 1; v > year; v--) value -= YD[leap(v)] * DAY_MS;
-            }
+            long value = toEpochDay(year, month, day) * DAY_MS;
+            value += hour * HOUR_MS;
+            value += minute * MINUTE_MS;
+            value += second * SECOND_MS;
+            value += millis;
             this.timestamp = value;
             this.update = false;
         }
         return this;
     }
 
+    /**
+     * 按时间戳分解日历字段，与{@link #update()}方向相反
+     *
+     * @return 返回this
+     */
+    public final Moment resolve() {
+        if (this.resolve) {
+            decompose(this.timestamp);
+            this.resolve = false;
+        }
+        return this;
+    }
+
     /**
      * 获取{@code yyyyMMdd}时间数字如20250416
      *
@@ -560,7 +380,7 @@ public class Moment implements Comparable<Moment> {
      * @return 返回{@code int}类型的年属性域
      */
     public final int getYearAsNum() {
-        return this.year;
+        return resolve().year;
     }
 
     /**
@@ -578,7 +398,7 @@ public class Moment implements Comparable<Moment> {
      * @return 返回{@code int}类型的月属性域
      */
     public final int getMonthAsNum() {
-        return this.month + 1;
+        return resolve().month + 1;
     }
 
     /**
@@ -587,7 +407,7 @@ public class Moment implements Comparable<Moment> {
      * @return 返回{@code String}类型的月属性域
      */
     public final String getMonthAsStr() {
-        return String.valueOf(getMonthAsNum() + 100).substring(1);
+        return TWO_DIGITS[getMonthAsNum()];
     }
 
     /**
@@ -596,7 +416,7 @@ public class Moment implements Comparable<Moment> {
      * @return 返回{@code int}类型的日属性域
      */
     public final int getDayAsNum() {
-        return this.day + 1;
+        return resolve().day + 1;
     }
 
     /**
@@ -605,7 +425,7 @@ public class Moment implements Comparable<Moment> {
      * @return 返回{@code String}类型的日属性域
      */
     public final String getDayAsStr() {
-        return String.valueOf(getDayAsNum() + 100).substring(1);
+        return TWO_DIGITS[getDayAsNum()];
     }
 
     /**
@@ -614,7 +434,7 @@ public class Moment implements Comparable<Moment> {
      * @return 返回{@code int}类型的时属性域
      */
     public final int getHourAsNum() {
-        return this.hour;
+        return resolve().hour;
     }
 
     /**
@@ -623,7 +443,7 @@ public class Moment implements Comparable<Moment> {
      * @return 返回{@code String}类型的时属性域
      */
     public final String getHourAsStr() {
-        return String.valueOf(getHourAsNum() + 100).substring(1);
+        return TWO_DIGITS[getHourAsNum()];
     }
 
     /**
@@ -632,7 +452,7 @@ public class Moment implements Comparable<Moment> {
      * @return 返回{@code int}类型的分属性域
      */
     public final int getMinuteAsNum() {
-        return this.minute;
+        return resolve().minute;
     }
 
     /**
@@ -641,7 +461,7 @@ public class Moment implements Comparable<Moment> {
      * @return 返回{@code String}类型的分属性域
      */
     public final String getMinuteAsStr() {
-        return String.valueOf(getMinuteAsNum() + 100).substring(1);
+        return TWO_DIGITS[getMinuteAsNum()];
     }
 
     /**
@@ -650,7 +470,7 @@ public class Moment implements Comparable<Moment> {
      * @return 返回{@code int}类型的秒属性域
      */
     public final int getSecondAsNum() {
-        return this.second;
+        return resolve().second;
     }
 
     /**
@@ -659,7 +479,7 @@ public class Moment implements Comparable<Moment> {
      * @return 返回{@code String}类型的秒属性域
      */
     public final String getSecondAsStr() {
-        return String.valueOf(getSecondAsNum() + 100).substring(1);
+        return TWO_DIGITS[getSecondAsNum()];
     }
 
     /**
@@ -668,7 +488,7 @@ public class Moment implements Comparable<Moment> {
      * @return 返回{@code int}类型的毫秒属性域
      */
     public final int getMillisAsNum() {
-        return this.millis;
+        return resolve().millis;
     }
 
     /**
@@ -677,7 +497,7 @@ public class Moment implements Comparable<Moment> {
      * @return 返回{@code String}类型的毫秒属性域
      */
     public final String getMillisAsStr() {
-        return String.valueOf(getMillisAsNum() + 1000).substring(1);
+        return THREE_DIGITS[getMillisAsNum()];
     }
 
     /**
@@ -695,7 +515,7 @@ public class Moment implements Comparable<Moment> {
      * @return 返回{@code String}类型的微秒属性域
      */
     public final String getMicrosAsStr() {
-        return String.valueOf(getMicrosAsNum() + 1000).substring(1);
+        return THREE_DIGITS[getMicrosAsNum()];
     }
 
     /**
@@ -713,7 +533,7 @@ public class Moment implements Comparable<Moment> {
      * @return 返回{@code String}类型的纳秒属性域
      */
     public final String getNanosAsStr() {
-        return String.valueOf(getNanosAsNum() + 1000).substring(1);
+        return THREE_DIGITS[getNanosAsNum()];
     }
 
     /**
@@ -725,6 +545,111 @@ public class Moment implements Comparable<Moment> {
         return (getMonthAsNum() + 2) / 3;
     }
 
+    /**
+     * 获取指定时区的本地年，不创建{@link java.time}对象
+     *
+     * @param zoneId 时区
+     * @return 获取值
+     */
+    public final int getYearAsNum(ZoneId zoneId) {
+        return MomentZoned.year(getLocalTimestamp(zoneId));
+    }
+
+    /**
+     * 获取指定时区的本地月1-12，不创建{@link java.time}对象
+     *
+     * @param zoneId 时区
+     * @return 获取值
+     */
+    public final int getMonthAsNum(ZoneId zoneId) {
+        return MomentZoned.month(getLocalTimestamp(zoneId));
+    }
+
+    /**
+     * 获取指定时区的本地日1-31，不创建{@link java.time}对象
+     *
+     * @param zoneId 时区
+     * @return 获取值
+     */
+    public final int getDayAsNum(ZoneId zoneId) {
+        return MomentZoned.day(getLocalTimestamp(zoneId));
+    }
+
+    /**
+     * 获取指定时区的本地季度1-4，不创建{@link java.time}对象
+     *
+     * @param zoneId 时区
+     * @return 获取值
+     */
+    public final int getQuarter(ZoneId zoneId) {
+        return MomentZoned.quarter(getLocalTimestamp(zoneId));
+    }
+
+    /**
+     * 获取指定时区的本地时0-23，不创建{@link java.time}对象
+     *
+     * @param zoneId 时区
+     * @return 获取值
+     */
+    public final int getHourAsNum(ZoneId zoneId) {
+        return MomentZoned.hour(getLocalTimestamp(zoneId));
+    }
+
+    /**
+     * 获取指定时区的本地分0-59，不创建{@link java.time}对象
+     *
+     * @param zoneId 时区
+     * @return 获取值
+     */
+    public final int getMinuteAsNum(ZoneId zoneId) {
+        return MomentZoned.minute(getLocalTimestamp(zoneId));
+    }
+
+    /**
+     * 获取指定时区的本地{@code yyyyMMdd}时间数字如20250416，不创建{@link java.time}对象
+     *
+     * @param zoneId 时区
+     * @return 获取值
+     */
+    public final int getDateAsNum(ZoneId zoneId) {
+        return MomentZoned.date(getLocalTimestamp(zoneId));
+    }
+
+    /**
+     * 获取指定时区的本地{@code HHmmss}时间数字如132647，不创建{@link java.time}对象
+     *
+     * @param zoneId 时区
+     * @return 获取值
+     */
+    public final int getTimeAsNum(ZoneId zoneId) {
+        return MomentZoned.time(getLocalTimestamp(zoneId));
+    }
+
+    /**
+     * 获取指定时区的本地{@code yyyyMMddHHmmss}时间数字如20250416132647，不创建{@link java.time}对象
+     *
+     * @param zoneId 时区
+     * @return 获取值
+     */
+    public final long getDateTimeAsNum(ZoneId zoneId) {
+        return MomentZoned.dateTime(getLocalTimestamp(zoneId));
+    }
+
+    /**
+     * 创建绑定时区的视图，视图读取当前对象的时间戳计算本地的日历字段
+     *
+     * @param zoneId 时区
+     * @return {@link MomentZoned}
+     */
+    public final MomentZoned atZone(ZoneId zoneId) {
+        return MomentZoned.of(this, zoneId);
+    }
+
+    private long getLocalTimestamp(ZoneId zoneId) {
+        long timestamp = getTimestamp();
+        return timestamp + MomentZone.offsetMillis(zoneId, timestamp);
+    }
+
     /**
      * 设置季度初
      *
@@ -848,6 +773,15 @@ public class Moment implements Comparable<Moment> {
         return OffsetDateTime.ofInstant(toInstant(), zoneId);
     }
 
+    /**
+     * 将时间转成不可变的{@link MomentValue}
+     *
+     * @return 返回当前字段值的 {@link MomentValue}
+     */
+    public final MomentValue toValue() {
+        return MomentValue.of(this);
+    }
+
     /**
      * 将时间转成{@link Date}
      *
@@ -886,43 +820,96 @@ public class Moment implements Comparable<Moment> {
      * @return 返回格式化后的 {@link String}
      */
     public final String toString(String format, ZoneId zoneId) {
-        List<String> formats = Moment.parseFormat(format);
-        LocalDateTime localDateTime = toLocalDateTime(zoneId);
-        StringBuilder result = new StringBuilder();
-        for (String token : formats) {
-            switch (token) {
-                case "yyyy":
-                    result.append(localDateTime.getYear());
-                    break;
-                case "MM":
-                    result.append(String.valueOf(localDateTime.getMonthValue() + 100).substring(1));
-                    break;
-                case "dd":
-                    result.append(String.valueOf(localDateTime.getDayOfMonth() + 100).substring(1));
-                    break;
-                case "HH":
-                    result.append(String.valueOf(localDateTime.getHour() + 100).substring(1));
-                    break;
-                case "mm":
-                    result.append(String.valueOf(localDateTime.getMinute() + 100).substring(1));
-                    break;
-                case "ss":
-                    result.append(String.valueOf(localDateTime.getSecond() + 100).substring(1));
-                    break;
-                case "SSS":
-                    result.append(String.valueOf(localDateTime.getNano() / 1000 / 1000 + 1000).substring(1));
-                    break;
-                default:
-                    result.append(token);
-                    break;
-            }
-        }
-        return result.toString();
+        return MomentFormat.of(format).format(this, zoneId);
+    }
+
+    /**
+     * 将时间按{@link MomentFormat#ISO}格式追加到{@link StringBuilder}
+     *
+     * @param builder 输出对象
+     * @return 返回输出对象
+     */
+    public final StringBuilder formatTo(StringBuilder builder) {
+        return MomentFormat.ISO.formatTo(this, UTC, builder);
+    }
+
+    /**
+     * 将时间格式化后追加到{@link StringBuilder}
+     *
+     * @param builder 输出对象
+     * @param format  时间格式
+     * @param zoneId  时区
+     * @return 返回输出对象
+     */
+    public final StringBuilder formatTo(StringBuilder builder, MomentFormat format, ZoneId zoneId) {
+        return format.formatTo(this, zoneId, builder);
+    }
+
+    /**
+     * 将时间格式化后追加到{@link Appendable}
+     *
+     * @param appendable 输出对象
+     * @param format     时间格式
+     * @param zoneId     时区
+     * @param <A>        输出对象类型
+     * @return 返回输出对象
+     * @throws IOException 输出对象写入失败时抛出
+     */
+    public final <A extends Appendable> A formatTo(A appendable, MomentFormat format, ZoneId zoneId) throws IOException {
+        return format.formatTo(this, zoneId, appendable);
+    }
+
+    /**
+     * 将时间按{@link MomentFormat#ISO}格式写入字符数组
+     *
+     * @param dst    输出数组
+     * @param offset 写入的起始位置
+     * @return 返回写入结束的位置
+     */
+    public final int formatTo(char[] dst, int offset) {
+        return MomentFormat.ISO.formatTo(this, UTC, dst, offset);
+    }
+
+    /**
+     * 将时间格式化后写入字符数组
+     *
+     * @param dst    输出数组
+     * @param offset 写入的起始位置
+     * @param format 时间格式
+     * @param zoneId 时区
+     * @return 返回写入结束的位置
+     */
+    public final int formatTo(char[] dst, int offset, MomentFormat format, ZoneId zoneId) {
+        return format.formatTo(this, zoneId, dst, offset);
+    }
+
+    /**
+     * 将时间按{@link MomentFormat#ISO}格式以ASCII写入字节数组
+     *
+     * @param dst    输出数组
+     * @param offset 写入的起始位置
+     * @return 返回写入结束的位置
+     */
+    public final int formatTo(byte[] dst, int offset) {
+        return MomentFormat.ISO.formatTo(this, UTC, dst, offset);
+    }
+
+    /**
+     * 将时间格式化后写入字节数组
+     *
+     * @param dst    输出数组
+     * @param offset 写入的起始位置
+     * @param format 时间格式
+     * @param zoneId 时区
+     * @return 返回写入结束的位置
+     */
+    public final int formatTo(byte[] dst, int offset, MomentFormat format, ZoneId zoneId) {
+        return format.formatTo(this, zoneId, dst, offset);
     }
 
     @Override
     public final String toString() {
-        return getYearAsStr() + '-' + getMonthAsStr() + '-' + getDayAsStr() + 'T' + getHourAsStr() + ':' + getMinuteAsStr() + ':' + getSecondAsStr() + '.' + getMillisAsStr() + "Z";
+        return MomentFormat.ISO.format(this);
     }
 
     /**
@@ -1009,94 +996,19 @@ public class Moment implements Comparable<Moment> {
      * @return 返回this
      */
     public final Moment setTimestamp(String input, String format, ZoneId zoneId) {
-        int year = this.year, month = this.month, day = this.day,
-                hour = 0, minute = 0, second = 0, nanoOfSecond = 0, t = 0;
-        List<String> list = Moment.parseFormat(format);
-        String field = "";
-        // 遍历每个标记进行解析
-        for (String token : list) {
-            switch (token) {
-                case "yyyy":
-                    try {
-                        field = input.substring(t, t += 4);
-                        year = Integer.parseInt(field);
-                    } catch (Throwable e) {
-                        throw new IllegalArgumentException("There was an error in parsing the 'yyyy' pattern of the substring '" + field + "' returned (" + (t - 4) + "," + t + ") in the string '" + input + "' index.");
-                    }
-                    break;
-                case "MM":
-                    try {
-                        field = input.substring(t, t += 2);
-                        month = Integer.parseInt(field);
-                    } catch (Throwable e) {
-                        throw new IllegalArgumentException("There was an error in parsing the 'MM' pattern of the substring '" + field + "' returned (" + (t - 2) + "," + t + ") in the string '" + input + "' index.");
-                    }
-                    break;
-                case "dd":
-                    try {
-                        field = input.substring(t, t += 2);
-                        day = Integer.parseInt(field);
-                    } catch (Throwable e) {
-                        throw new IllegalArgumentException("There was an error in parsing the 'dd' pattern of the substring '" + field + "' returned (" + (t - 2) + "," + t + ") in the string '" + input + "' index.");
-                    }
-                    break;
-                case "HH":
-                    try {
-                        field = input.substring(t, t += 2);
-                        hour = Integer.parseInt(field);
-                    } catch (Throwable e) {
-                        throw new IllegalArgumentException("There was an error in parsing the 'HH' pattern of the substring '" + field + "' returned (" + (t - 2) + "," + t + ") in the string '" + input + "' index.");
-                    }
-                    break;
-                case "mm":
-                    try {
-                        field = input.substring(t, t += 2);
-                        minute = Integer.parseInt(field);
-                    } catch (Throwable e) {
-                        throw new IllegalArgumentException("There was an error in parsing the 'mm' pattern of the substring '" + field + "' returned (" + (t - 2) + "," + t + ") in the string '" + input + "' index.");
-                    }
-                    break;
-                case "ss":
-                    try {
-                        field = input.substring(t, t += 2);
-                        second = Integer.parseInt(field);
-                    } catch (Throwable e) {
-                        throw new IllegalArgumentException("There was an error in parsing the 'ss' pattern of the substring '" + field + "' returned (" + (t - 2) + "," + t + ") in the string '" + input + "' index.");
-                    }
-                    break;
-                case "SSS":
-                    try {
-                        field = input.substring(t, t += 3);
-                        nanoOfSecond = Integer.parseInt(field);
-                    } catch (Throwable e) {
-                        throw new IllegalArgumentException("There was an error in parsing the 'SSS' pattern of the substring '" + field + "' returned (" + (t - 3) + "," + t + ") in the string '" + input + "' index.");
-                    }
-                    break;
-                default:
-                    t += token.length();
-                    break;
-            }
-        }
-        if (month < 1 || month > MONTH_NEXT) {
-            throw new IllegalArgumentException("The month exceeds the range of [1,12],The actual value resolved is '" + month + "'.");
-        }
-        if (day < 1 || day > (t = MD[leap(year)][month - 1])) {
-            throw new IllegalArgumentException("The dat exceeds the range of [1," + t + "],The actual value resolved is '" + day + "'.");
-        }
-        if (hour < 0 || hour >= HOUR_NEXT) {
-            throw new IllegalArgumentException("The hour exceeds the range of [0,24),The actual value resolved is '" + hour + "'.");
-        }
-        if (minute < 0 || minute >= MINUTE_NEXT) {
-            throw new IllegalArgumentException("The minute exceeds the range of [0,60),The actual value resolved is '" + minute + "'.");
-        }
-        if (second < 0 || second >= SECOND_NEXT) {
-            throw new IllegalArgumentException("The second exceeds the range of [0,60),The actual value resolved is '" + second + "'.");
-        }
-        if (nanoOfSecond < 0 || nanoOfSecond >= 1000) {
-            throw new IllegalArgumentException("The millis exceeds the range of [0,1000),The actual value resolved is '" + nanoOfSecond + "'.");
-        }
-        nanoOfSecond *= 1000000;
-        return setTimestamp(LocalDateTime.of(year, month, day, hour, minute, second, nanoOfSecond), zoneId);
+        return MomentFormat.of(format).parse(input, this, zoneId);
+    }
+
+    /**
+     * 按UTC解析时间并设置到目标对象，输入不合法时不抛出异常也不修改目标对象，适合含有大量脏数据的输入
+     *
+     * @param input  字符序列
+     * @param format 时间格式
+     * @param target 目标对象
+     * @return 返回解析状态，通过{@link MomentFormat#isError(long)}判断是否失败，通过{@link MomentFormat#message(long, CharSequence)}获取错误信息
+     */
+    public static long tryParse(CharSequence input, MomentFormat format, Moment target) {
+        return format.tryParse(input, 0, target, UTC);
     }
 
     /**
@@ -1117,8 +1029,12 @@ public class Moment implements Comparable<Moment> {
      * @return 返回this
      */
     public final Moment setTimestamp(LocalDateTime input, ZoneId zoneId) {
-        return setTimestamp(input.toInstant(zoneId instanceof ZoneOffset ?
-                (ZoneOffset) zoneId : zoneId.getRules().getOffset(Instant.now())));
+        int nanos = input.getNano();
+        long local = Math.addExact(Math.multiplyExact(input.toEpochSecond(ZoneOffset.UTC), 1000L), nanos / 1000000);
+        long timestamp = Math.subtractExact(local, MomentZone.localOffsetMillis(zoneId, local));
+        this.nanos = nanos % 1000;
+        this.micros = nanos / 1000 % 1000;
+        return setTimestamp(timestamp);
     }
 
     /**
@@ -1171,42 +1087,133 @@ public class Moment implements Comparable<Moment> {
      * @return 返回this
      */
     public final Moment setTimestamp(long input) {
-        int v, t;
         this.timestamp = input;
-        if (input >= 0) {
-            this.millis = (int) (input % 1000);
-            input /= 1000;
-            this.second = (int) (input % SECOND_NEXT);
-            input /= SECOND_NEXT;
-            this.minute = (int) (input % MINUTE_NEXT);
-            input /= MINUTE_NEXT;
-            this.hour = (int) (input % HOUR_NEXT);
-            input /= HOUR_NEXT;
-            for (v = YEAR_START; input >= (t = YD[leap(v)]); input -= t) v++;
-            this.year = v;
-            for (v = 0; input >= (t = MD[leap(year)][v]); input -= t) v++;
-            this.month = v;
-            this.day = (int) input;
-        } else {
-            input = Math.abs(input);
-            this.millis = (int) (1000 - input % 1000);
-            input /= 1000;
-            this.second = (int) (SECOND_NEXT - 1 - input % SECOND_NEXT);
-            input /= SECOND_NEXT;
-            this.minute = (int) (MINUTE_NEXT - 1 - input % MINUTE_NEXT);
-            input /= MINUTE_NEXT;
-            this.hour = (int) (HOUR_NEXT - 1 - input % HOUR_NEXT);
-            input /= HOUR_NEXT;
-            for (v = YEAR_START - 1; input >= (t = YD[leap(v)]); input -= t) v--;
-            this.year = v;
-            for (v = MONTH_NEXT - 1; input >= (t = MD[leap(year)][v]); input -= t) v--;
-            this.month = v;
-            this.day = (int) (MD[leap(year)][month] - 1 - input);
-        }
         this.update = false;
+        this.resolve = false;
+        decompose(input);
+        return this;
+    }
+
+    /**
+     * 设置时间戳，只保存时间戳，日历字段延迟到首次读取时才分解，适用于只比较和排序的场景
+     *
+     * @param input 输入参数
+     * @return 返回this
+     */
+    public final Moment setTimestampLazily(long input) {
+        this.timestamp = input;
+        this.update = false;
+        this.resolve = true;
         return this;
     }
 
+    /**
+     * 按时间戳分解日历字段
+     *
+     * @param input 时间戳
+     */
+    private void decompose(long input) {
+        int time = (int) Math.floorMod(input, DAY_MS);
+        this.millis = time % 1000;
+        time /= 1000;
+        this.second = time % SECOND_NEXT;
+        time /= SECOND_NEXT;
+        this.minute = time % MINUTE_NEXT;
+        this.hour = time / MINUTE_NEXT;
+        setEpochDay(Math.floorDiv(input, DAY_MS));
+    }
+
+    /**
+     * 根据年月日计算距离1970-01-01的天数，以400年为一个纪元常数时间计算，1970年之前返回负数
+     *
+     * @param year  年份
+     * @param month 月份0-11
+     * @param day   日0-30
+     * @return 返回距离1970-01-01的天数
+     */
+    static long toEpochDay(long year, int month, int day) {
+        // 以0000-03-01为起点，闰日位于每年的末尾
+        if (month < 2) year--;
+        long era = Math.floorDiv(year, 400);
+        int yoe = (int) (year - era * 400);
+        int doy = (153 * (month < 2 ? month + 10 : month - 2) + 2) / 5 + day;
+        int doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * DAYS_PER_ERA + doe - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * 根据距离1970-01-01的天数计算年月日，以400年为一个纪元常数时间计算，正负天数均适用
+     *
+     * @param input 距离1970-01-01的天数
+     * @return 返回压缩的年月日，{@code year << 9 | month << 5 | day}，其中月份0-11，日0-30，年通过算术右移9位取得
+     */
+    static long toCivil(long input) {
+        // 以0000-03-01为起点，闰日位于每年的末尾
+        input += DAYS_0000_TO_1970;
+        long era = Math.floorDiv(input, DAYS_PER_ERA);
+        int doe = (int) (input - era * DAYS_PER_ERA);
+        int yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        int doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        int mp = (5 * doy + 2) / 153, month = mp < 10 ? mp + 2 : mp - 10;
+        long year = era * 400 + yoe + (month < 2 ? 1 : 0);
+        return year << 9 | month << 5 | (doy - (153 * mp + 2) / 5);
+    }
+
+    /**
+     * 获取{@link #toCivil(long)}压缩值中的年
+     *
+     * @param civil 压缩的年月日
+     * @return 返回年
+     */
+    static long civilYear(long civil) {
+        return civil >> 9;
+    }
+
+    /**
+     * 获取{@link #toCivil(long)}压缩值中的月
+     *
+     * @param civil 压缩的年月日
+     * @return 返回月0-11
+     */
+    static int civilMonth(long civil) {
+        return (int) (civil >>> 5) & 0xF;
+    }
+
+    /**
+     * 获取{@link #toCivil(long)}压缩值中的日
+     *
+     * @param civil 压缩的年月日
+     * @return 返回日0-30
+     */
+    static int civilDay(long civil) {
+        return (int) civil & 0x1F;
+    }
+
+    /**
+     * 将{@link #toCivil(long)}压缩值转成{@code yyyyMMdd}时间数字
+     *
+     * @param civil 压缩的年月日
+     * @return 返回{@code yyyyMMdd}时间数字如20250416
+     */
+    static int civilDateNum(long civil) {
+        return (int) civilYear(civil) * 10000 + (civilMonth(civil) + 1) * 100 + civilDay(civil) + 1;
+    }
+
+    /**
+     * 根据距离1970-01-01的天数设置年月日
+     *
+     * @param input 距离1970-01-01的天数
+     */
+    private void setEpochDay(long input) {
+        if (input < EPOCH_DAY_MIN || input > EPOCH_DAY_MAX) {
+            throw new IllegalArgumentException("Integer overflow: The year value is outside the allowable range");
+        }
+        long civil = toCivil(input);
+        this.year = (int) civilYear(civil);
+        this.month = civilMonth(civil);
+        this.day = civilDay(civil);
+    }
+
     /**
      * 设置年，会根据时间规则计算相应的时间值
      *
@@ -1214,6 +1221,7 @@ public class Moment implements Comparable<Moment> {
      * @return 返回this
      */
     public final Moment setYear(int value) {
+        resolve();
         this.year = value;
         this.update = true;
         return this;
@@ -1264,6 +1272,7 @@ public class Moment implements Comparable<Moment> {
      * @return 返回this
      */
     public final Moment setMonth(int value) {
+        resolve();
         value -= 1;
         this.update = true;
         if (0 <= value && value < MONTH_NEXT) {
@@ -1285,6 +1294,7 @@ public class Moment implements Comparable<Moment> {
      * @return 返回this
      */
     public final Moment setMonthIfCorrect(int value) {
+        resolve();
         value -= 1;
         if (0 <= value && value < MONTH_NEXT) {
             this.month = value;
@@ -1320,6 +1330,7 @@ public class Moment implements Comparable<Moment> {
      * @return 返回this
      */
     public final Moment setDay(int value) {
+        resolve();
         value -= 1;
         this.update = true;
         int dayNext = MD[leap(this.year)][this.month];
@@ -1342,6 +1353,7 @@ public class Moment implements Comparable<Moment> {
      * @return 返回this
      */
     public final Moment setDayIfCorrect(int value) {
+        resolve();
         value -= 1;
         int dayNext = MD[leap(this.year)][this.month];
         if (0 <= value && value < dayNext) {
@@ -1358,6 +1370,7 @@ public class Moment implements Comparable<Moment> {
      * @return 返回this
      */
     public final Moment setHour(int value) {
+        resolve();
         this.update = true;
         if (0 <= value && value < HOUR_NEXT) {
             this.hour = value;
@@ -1378,6 +1391,7 @@ public class Moment implements Comparable<Moment> {
      * @return 返回this
      */
     public final Moment setHourIfCorrect(int value) {
+        resolve();
         if (0 <= value && value < HOUR_NEXT) {
             this.hour = value;
             this.update = true;
@@ -1392,6 +1406,7 @@ public class Moment implements Comparable<Moment> {
      * @return 返回this
      */
     public final Moment setMinute(int value) {
+        resolve();
         this.update = true;
         if (0 <= value && value < MINUTE_NEXT) {
             this.minute = value;
@@ -1412,6 +1427,7 @@ public class Moment implements Comparable<Moment> {
      * @return 返回this
      */
     public final Moment setMinuteIfCorrect(int value) {
+        resolve();
         if (0 <= value && value < MINUTE_NEXT) {
             this.minute = value;
             this.update = true;
@@ -1426,6 +1442,7 @@ public class Moment implements Comparable<Moment> {
      * @return 返回this
      */
     public final Moment setSecond(int value) {
+        resolve();
         this.update = true;
         if (0 <= value && value < SECOND_NEXT) {
             this.second = value;
@@ -1446,6 +1463,7 @@ public class Moment implements Comparable<Moment> {
      * @return 返回this
      */
     public final Moment setSecondIfCorrect(int value) {
+        resolve();
         if (0 <= value && value < SECOND_NEXT) {
             this.second = value;
             this.update = true;
@@ -1460,6 +1478,7 @@ public class Moment implements Comparable<Moment> {
      * @return 返回this
      */
     public final Moment setMillis(int value) {
+        resolve();
         this.update = true;
         if (0 <= value && value < 1000) {
             this.millis = value;
@@ -1480,6 +1499,7 @@ public class Moment implements Comparable<Moment> {
      * @return 返回this
      */
     public final Moment setMillisIfCorrect(int value) {
+        resolve();
         if (0 <= value && value < 1000) {
             this.millis = value;
             this.update = true;
@@ -1494,6 +1514,7 @@ public class Moment implements Comparable<Moment> {
      * @return 返回this
      */
     public final Moment setMicros(int value) {
+        resolve();
         this.update = true;
         if (0 <= value && value < 1000) {
             this.micros = value;
@@ -1514,6 +1535,7 @@ public class Moment implements Comparable<Moment> {
      * @return 返回this
      */
     public final Moment setMicrosIfCorrect(int value) {
+        resolve();
         if (0 <= value && value < 1000) {
             this.micros = value;
             this.update = true;
@@ -1528,6 +1550,7 @@ public class Moment implements Comparable<Moment> {
      * @return 返回this
      */
     public final Moment setNanos(int value) {
+        resolve();
         this.update = true;
         if (0 <= value && value < 1000) {
             this.nanos = value;
@@ -1548,6 +1571,7 @@ public class Moment implements Comparable<Moment> {
      * @return 返回this
      */
     public final Moment setNanosIfCorrect(int value) {
+        resolve();
         if (0 <= value && value < 1000) {
             this.nanos = value;
             this.update = true;
@@ -1562,6 +1586,7 @@ public class Moment implements Comparable<Moment> {
      * @return 返回this
      */
     public final Moment addYear(long value) {
+        resolve();
         value = Math.addExact(year, value);
         int year = (int) value;
         if (year != value) {
@@ -1579,19 +1604,15 @@ public class Moment implements Comparable<Moment> {
      * @return 返回this
      */
     public final Moment addMonth(long value) {
+        resolve();
         if (value != 0) {
             long time = Math.addExact(this.month, value);
-            this.addYear(time / 12);
-            if ((time %= MONTH_NEXT) < 0) {
-                time += MONTH_NEXT;
-                this.addYear(-1);
-            }
-            this.month = Math.toIntExact(time);
+            this.addYear(Math.floorDiv(time, MONTH_NEXT));
+            this.month = (int) Math.floorMod(time, MONTH_NEXT);
             this.update = true;
-            int max = getNumberOfDaysMonth();
-            int day = getDayAsNum();
-            if (day > max) {
-                setDay(max);
+            int max = MD[leap(this.year)][this.month];
+            if (this.day >= max) {
+                this.day = max - 1;
             }
         }
         return this;
@@ -1604,14 +1625,9 @@ public class Moment implements Comparable<Moment> {
      * @return 返回this
      */
     public final Moment addDay(long value) {
+        resolve();
         if (value != 0) {
-            long time = Math.addExact(this.day, value);
-            if (time >= 0) {
-                for (; time >= (value = MD[leap(this.year)][this.month]); time -= value) addMonth(1);
-            } else {
-                for (; time < 0; time += MD[leap(this.year)][this.month]) addMonth(-1);
-            }
-            this.day = (int) time;
+            setEpochDay(Math.addExact(toEpochDay(this.year, this.month, this.day), value));
             this.update = true;
         }
         return this;
@@ -1624,6 +1640,7 @@ public class Moment implements Comparable<Moment> {
      * @return 返回this
      */
     public final Moment addHour(long value) {
+        resolve();
         if (value != 0) {
             long time = Math.addExact(this.hour, value);
             this.addDay(time / HOUR_NEXT);
@@ -1644,6 +1661,7 @@ public class Moment implements Comparable<Moment> {
      * @return 返回this
      */
     public final Moment addMinute(long value) {
+        resolve();
         if (value != 0) {
             long time = Math.addExact(this.minute, value);
             this.addHour(time / MINUTE_NEXT);
@@ -1664,6 +1682,7 @@ public class Moment implements Comparable<Moment> {
      * @return 返回this
      */
     public final Moment addSecond(long value) {
+        resolve();
         if (value != 0) {
             long time = Math.addExact(this.second, value);
             this.addMinute(time / SECOND_NEXT);
@@ -1684,6 +1703,7 @@ public class Moment implements Comparable<Moment> {
      * @return 返回this
      */
     public final Moment addMillis(long value) {
+        resolve();
         if (value != 0) {
             long time = Math.addExact(this.millis, value);
             this.addSecond(time / 1000);
@@ -1704,6 +1724,7 @@ public class Moment implements Comparable<Moment> {
      * @return 返回this
      */
     public final Moment addMicros(long value) {
+        resolve();
         if (value != 0) {
             long time = Math.addExact(this.micros, value);
             this.addMillis(time / 1000);
@@ -1724,6 +1745,7 @@ public class Moment implements Comparable<Moment> {
      * @return 返回this
      */
     public final Moment addNanos(long value) {
+        resolve();
         if (value != 0) {
             long time = Math.addExact(this.nanos, value);
             this.addMicros(time / 1000);
@@ -0,0 +1,376 @@
+package com.github.zhitron.universal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import static com.github.zhitron.universal.Moment.DAY_MS;
+
+/**
+ * 基于{@link ByteBuffer}的时间戳视图，可以是堆外内存或内存映射文件
+ * <p>
+ * 每个槽位固定{@value #SLOT_SIZE}字节：前8字节为毫秒时间戳，后4字节为毫秒以下的纳秒数（{@code micros * 1000 + nanos}），
+ * 字节序与底层缓冲区一致。所有读写均使用绝对下标，不改变缓冲区的position，遍历时不产生对象
+ *
+ * @author zhitron
+ */
+public final class MomentBuffer {
+    /**
+     * 每个槽位的字节数
+     */
+    public static final int SLOT_SIZE = 12;
+    private final ByteBuffer buffer;
+    private final int offset, size;
+
+    private MomentBuffer(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.offset = buffer.position();
+        this.size = buffer.remaining() / SLOT_SIZE;
+    }
+
+    /**
+     * 创建{@link MomentBuffer}，槽位从缓冲区当前position开始，到limit结束
+     *
+     * @param buffer 缓冲区
+     * @return {@link MomentBuffer}
+     */
+    public static MomentBuffer wrap(ByteBuffer buffer) {
+        return new MomentBuffer(buffer);
+    }
+
+    /**
+     * 创建堆外内存的{@link MomentBuffer}
+     *
+     * @param slots 槽位个数
+     * @return {@link MomentBuffer}
+     */
+    public static MomentBuffer allocateDirect(int slots) {
+        return new MomentBuffer(ByteBuffer.allocateDirect(Math.multiplyExact(slots, SLOT_SIZE)));
+    }
+
+    /**
+     * 创建内存映射文件的{@link MomentBuffer}，单个映射不超过2GB，更大的文件需按区段分别映射
+     *
+     * @param channel  文件通道
+     * @param mode     映射模式
+     * @param position 映射的起始字节位置
+     * @param slots    槽位个数
+     * @return {@link MomentBuffer}
+     * @throws IOException 映射失败时抛出
+     */
+    public static MomentBuffer map(FileChannel channel, FileChannel.MapMode mode, long position, int slots) throws IOException {
+        return new MomentBuffer(channel.map(mode, position, Math.multiplyExact((long) slots, SLOT_SIZE)));
+    }
+
+    /**
+     * 获取槽位个数
+     *
+     * @return 返回槽位个数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 获取底层缓冲区
+     *
+     * @return 返回底层缓冲区
+     */
+    public ByteBuffer buffer() {
+        return buffer;
+    }
+
+    /**
+     * 获取时间戳
+     *
+     * @param index 槽位下标
+     * @return 返回时间戳
+     */
+    public long getTimestamp(int index) {
+        return buffer.getLong(slot(index));
+    }
+
+    /**
+     * 获取微秒0-999
+     *
+     * @param index 槽位下标
+     * @return 返回微秒
+     */
+    public int getMicrosAsNum(int index) {
+        return buffer.getInt(slot(index) + 8) / 1000;
+    }
+
+    /**
+     * 获取纳秒0-999
+     *
+     * @param index 槽位下标
+     * @return 返回纳秒
+     */
+    public int getNanosAsNum(int index) {
+        return buffer.getInt(slot(index) + 8) % 1000;
+    }
+
+    /**
+     * 获取{@code yyyyMMdd}时间数字如20250416
+     *
+     * @param index 槽位下标
+     * @return 获取值
+     */
+    public int getDateAsNum(int index) {
+        return Moment.civilDateNum(Moment.toCivil(Math.floorDiv(getTimestamp(index), DAY_MS)));
+    }
+
+    /**
+     * 获取{@code HHmmss}时间数字如132647
+     *
+     * @param index 槽位下标
+     * @return 获取值
+     */
+    public int getTimeAsNum(int index) {
+        int second = (int) (Math.floorMod(getTimestamp(index), DAY_MS) / 1000);
+        return second / 3600 * 10000 + second / 60 % 60 * 100 + second % 60;
+    }
+
+    /**
+     * 获取{@code yyyyMMddHHmmss}时间数字如20250416132647
+     *
+     * @param index 槽位下标
+     * @return 获取值
+     */
+    public long getDateTimeAsNum(int index) {
+        return getDateAsNum(index) * 1000000L + getTimeAsNum(index);
+    }
+
+    /**
+     * 获取年
+     *
+     * @param index 槽位下标
+     * @return 返回年
+     */
+    public int getYearAsNum(int index) {
+        return (int) Moment.civilYear(Moment.toCivil(Math.floorDiv(getTimestamp(index), DAY_MS)));
+    }
+
+    /**
+     * 获取月1-12
+     *
+     * @param index 槽位下标
+     * @return 返回月
+     */
+    public int getMonthAsNum(int index) {
+        return Moment.civilMonth(Moment.toCivil(Math.floorDiv(getTimestamp(index), DAY_MS))) + 1;
+    }
+
+    /**
+     * 获取日1-31
+     *
+     * @param index 槽位下标
+     * @return 返回日
+     */
+    public int getDayAsNum(int index) {
+        return Moment.civilDay(Moment.toCivil(Math.floorDiv(getTimestamp(index), DAY_MS))) + 1;
+    }
+
+    /**
+     * 获取时0-23
+     *
+     * @param index 槽位下标
+     * @return 返回时
+     */
+    public int getHourAsNum(int index) {
+        return (int) (Math.floorMod(getTimestamp(index), DAY_MS) / Moment.HOUR_MS);
+    }
+
+    /**
+     * 获取分0-59
+     *
+     * @param index 槽位下标
+     * @return 返回分
+     */
+    public int getMinuteAsNum(int index) {
+        return (int) (Math.floorMod(getTimestamp(index), DAY_MS) / Moment.MINUTE_MS % 60);
+    }
+
+    /**
+     * 获取秒0-59
+     *
+     * @param index 槽位下标
+     * @return 返回秒
+     */
+    public int getSecondAsNum(int index) {
+        return (int) (Math.floorMod(getTimestamp(index), DAY_MS) / Moment.SECOND_MS % 60);
+    }
+
+    /**
+     * 获取毫秒0-999
+     *
+     * @param index 槽位下标
+     * @return 返回毫秒
+     */
+    public int getMillisAsNum(int index) {
+        return (int) Math.floorMod(getTimestamp(index), Moment.SECOND_MS);
+    }
+
+    /**
+     * 设置时间戳，毫秒以下的部分清零
+     *
+     * @param index     槽位下标
+     * @param timestamp 时间戳
+     * @return 返回this
+     */
+    public MomentBuffer setTimestamp(int index, long timestamp) {
+        return set(index, timestamp, 0, 0);
+    }
+
+    /**
+     * 设置时间戳
+     *
+     * @param index     槽位下标
+     * @param timestamp 时间戳
+     * @param micros    微秒0-999
+     * @param nanos     纳秒0-999
+     * @return 返回this
+     */
+    public MomentBuffer set(int index, long timestamp, int micros, int nanos) {
+        if (micros < 0 || micros >= 1000 || nanos < 0 || nanos >= 1000) {
+            throw new IllegalArgumentException("The micros and nanos must be in the range of [0,1000),The actual value is '" + micros + "' and '" + nanos + "'.");
+        }
+        int slot = slot(index);
+        buffer.putLong(slot, timestamp);
+        buffer.putInt(slot + 8, micros * 1000 + nanos);
+        return this;
+    }
+
+    /**
+     * 原地设置年月日，时分秒保持不变
+     *
+     * @param index 槽位下标
+     * @param year  年
+     * @param month 月1-12
+     * @param day   日1-31
+     * @return 返回this
+     */
+    public MomentBuffer setDate(int index, int year, int month, int day) {
+        if (month < 1 || month > 12 || day < 1 || day > Moment.days(year, month)) {
+            throw new IllegalArgumentException("The date is outside the allowable range: " + year + "-" + month + "-" + day);
+        }
+        int slot = slot(index);
+        long timestamp = buffer.getLong(slot);
+        buffer.putLong(slot, Moment.toEpochDay(year, month - 1, day - 1) * DAY_MS + Math.floorMod(timestamp, DAY_MS));
+        return this;
+    }
+
+    /**
+     * 原地设置时分秒毫秒，年月日保持不变
+     *
+     * @param index  槽位下标
+     * @param hour   时0-23
+     * @param minute 分0-59
+     * @param second 秒0-59
+     * @param millis 毫秒0-999
+     * @return 返回this
+     */
+    public MomentBuffer setTime(int index, int hour, int minute, int second, int millis) {
+        if (hour < 0 || hour >= 24 || minute < 0 || minute >= 60 || second < 0 || second >= 60 || millis < 0 || millis >= 1000) {
+            throw new IllegalArgumentException("The time is outside the allowable range: " + hour + ":" + minute + ":" + second + "." + millis);
+        }
+        int slot = slot(index);
+        long timestamp = buffer.getLong(slot);
+        buffer.putLong(slot, Math.floorDiv(timestamp, DAY_MS) * DAY_MS + ((hour * 60 + minute) * 60 + second) * 1000L + millis);
+        return this;
+    }
+
+    /**
+     * 读取槽位到指定的{@link Moment}，日历字段延迟分解
+     *
+     * @param index  槽位下标
+     * @param target 目标对象
+     * @return 返回目标对象
+     */
+    public Moment read(int index, Moment target) {
+        int slot = slot(index), sub = buffer.getInt(slot + 8);
+        target.setTimestampLazily(buffer.getLong(slot));
+        target.micros = sub / 1000;
+        target.nanos = sub % 1000;
+        return target;
+    }
+
+    /**
+     * 将{@link Moment}写入槽位
+     *
+     * @param index  槽位下标
+     * @param source 源对象
+     * @return 返回this
+     */
+    public MomentBuffer write(int index, Moment source) {
+        return set(index, source.getTimestamp(), source.getMicrosAsNum(), source.getNanosAsNum());
+    }
+
+    /**
+     * 创建可复用的游标，游标本身是{@link Moment}，移动时不创建新对象
+     *
+     * @return 返回位于第0个槽位之前的游标
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    private int slot(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return offset + index * SLOT_SIZE;
+    }
+
+    /**
+     * 槽位游标，通过{@link #moveTo(int)}或{@link #next()}加载槽位，修改后通过{@link #store()}写回
+     */
+    public final class Cursor extends Moment {
+        private int index = -1;
+
+        private Cursor() {
+        }
+
+        /**
+         * 获取当前槽位下标
+         *
+         * @return 返回当前槽位下标，未加载时返回-1
+         */
+        public int index() {
+            return index;
+        }
+
+        /**
+         * 加载指定槽位
+         *
+         * @param index 槽位下标
+         * @return 返回this
+         */
+        public Cursor moveTo(int index) {
+            read(index, this);
+            this.index = index;
+            return this;
+        }
+
+        /**
+         * 加载下一个槽位
+         *
+         * @return 存在下一个槽位返回{@code true}，否则返回{@code false}
+         */
+        public boolean next() {
+            if (index + 1 >= size) return false;
+            moveTo(index + 1);
+            return true;
+        }
+
+        /**
+         * 将当前值写回当前槽位
+         *
+         * @return 返回this
+         */
+        public Cursor store() {
+            write(index, this);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.github.zhitron.universal;
+
+import static com.github.zhitron.universal.Moment.DAY_MS;
+
+/**
+ * 时间对象的{@code long}压缩编码，提供两种布局：
+ * <ul>
+ *     <li>纪元微秒：{@code timestamp * 1000 + micros}，可直接按数值排序</li>
+ *     <li>字段压缩：按{@code yyyyMMddHHmmssSSS}的顺序将各字段按位压缩，年占高28位（有符号），可直接按数值排序</li>
+ * </ul>
+ * 两种布局的数值大小顺序均与{@link Moment#compareTo(Moment)}一致，静态访问方法直接在压缩值上计算，不创建{@link Moment}
+ *
+ * @author zhitron
+ */
+public final class MomentCodec {
+    private static final int MILLIS_BITS = 10, SECOND_BITS = 6, MINUTE_BITS = 6, HOUR_BITS = 5, DAY_BITS = 5, MONTH_BITS = 4;
+    private static final int SECOND_SHIFT = MILLIS_BITS, MINUTE_SHIFT = SECOND_SHIFT + SECOND_BITS, HOUR_SHIFT = MINUTE_SHIFT + MINUTE_BITS,
+            DAY_SHIFT = HOUR_SHIFT + HOUR_BITS, MONTH_SHIFT = DAY_SHIFT + DAY_BITS, YEAR_SHIFT = MONTH_SHIFT + MONTH_BITS;
+    /**
+     * 字段压缩布局可表示的年份范围
+     */
+    public static final int YEAR_MIN = -(1 << (63 - YEAR_SHIFT)), YEAR_MAX = (1 << (63 - YEAR_SHIFT)) - 1;
+
+    private MomentCodec() {
+    }
+
+    /**
+     * 将时间对象编码为纪元微秒
+     *
+     * @param moment 时间对象
+     * @return 返回纪元微秒
+     */
+    public static long toEpochMicros(Moment moment) {
+        return Math.addExact(Math.multiplyExact(moment.getTimestamp(), 1000L), moment.getMicrosAsNum());
+    }
+
+    /**
+     * 将纪元微秒解码为时间对象
+     *
+     * @param micros 纪元微秒
+     * @return 返回时间对象
+     */
+    public static Moment ofEpochMicros(long micros) {
+        return new Moment(Math.floorDiv(micros, 1000L), (int) Math.floorMod(micros, 1000L), 0);
+    }
+
+    /**
+     * 将时间对象按字段压缩编码，微秒和纳秒不参与编码
+     *
+     * @param moment 时间对象
+     * @return 返回压缩值
+     */
+    public static long pack(Moment moment) {
+        return pack(moment.getYearAsNum(), moment.getMonthAsNum(), moment.getDayAsNum(),
+                moment.getHourAsNum(), moment.getMinuteAsNum(), moment.getSecondAsNum(), moment.getMillisAsNum());
+    }
+
+    /**
+     * 将时间戳按字段压缩编码，不创建{@link Moment}
+     *
+     * @param timestamp 时间戳
+     * @return 返回压缩值
+     */
+    public static long pack(long timestamp) {
+        long civil = Moment.toCivil(Math.floorDiv(timestamp, DAY_MS));
+        int time = (int) Math.floorMod(timestamp, DAY_MS);
+        return pack(Moment.civilYear(civil), Moment.civilMonth(civil), Moment.civilDay(civil), time);
+    }
+
+    /**
+     * 将各字段压缩编码
+     *
+     * @param year   年
+     * @param month  月1-12
+     * @param day    日1-31
+     * @param hour   时0-23
+     * @param minute 分0-59
+     * @param second 秒0-59
+     * @param millis 毫秒0-999
+     * @return 返回压缩值
+     */
+    public static long pack(int year, int month, int day, int hour, int minute, int second, int millis) {
+        if (month < 1 || month > 12 || day < 1 || day > Moment.days(year, month)
+                || hour < 0 || hour >= 24 || minute < 0 || minute >= 60 || second < 0 || second >= 60 || millis < 0 || millis >= 1000) {
+            throw new IllegalArgumentException("The field value is outside the allowable range: " + year + "-" + month + "-" + day
+                    + " " + hour + ":" + minute + ":" + second + "." + millis);
+        }
+        return pack(year, month - 1, day - 1, ((hour * 60 + minute) * 60 + second) * 1000 + millis);
+    }
+
+    /**
+     * 将年月日与当天毫秒数压缩编码
+     *
+     * @param year   年
+     * @param month  月0-11
+     * @param day    日0-30
+     * @param millis 当天的毫秒数
+     * @return 返回压缩值
+     */
+    private static long pack(long year, int month, int day, int millis) {
+        if (year < YEAR_MIN || year > YEAR_MAX) {
+            throw new IllegalArgumentException("The year exceeds the range of [" + YEAR_MIN + "," + YEAR_MAX + "],The actual value is '" + year + "'.");
+        }
+        int second = millis / 1000, minute = second / 60, hour = minute / 60;
+        return year << YEAR_SHIFT
+                | (long) month << MONTH_SHIFT
+                | (long) day << DAY_SHIFT
+                | (long) hour << HOUR_SHIFT
+                | (long) (minute % 60) << MINUTE_SHIFT
+                | (long) (second % 60) << SECOND_SHIFT
+                | millis % 1000;
+    }
+
+    /**
+     * 将压缩值解码为时间对象
+     *
+     * @param packed 压缩值
+     * @return 返回时间对象
+     */
+    public static Moment unpack(long packed) {
+        return Moment.of(timestamp(packed));
+    }
+
+    /**
+     * 获取压缩值对应的时间戳
+     *
+     * @param packed 压缩值
+     * @return 返回时间戳
+     */
+    public static long timestamp(long packed) {
+        return epochDay(packed) * DAY_MS + millisOfDay(packed);
+    }
+
+    /**
+     * 获取年
+     *
+     * @param packed 压缩值
+     * @return 返回年
+     */
+    public static int year(long packed) {
+        return (int) (packed >> YEAR_SHIFT);
+    }
+
+    /**
+     * 获取月1-12
+     *
+     * @param packed 压缩值
+     * @return 返回月
+     */
+    public static int month(long packed) {
+        return field(packed, MONTH_SHIFT, MONTH_BITS) + 1;
+    }
+
+    /**
+     * 获取日1-31
+     *
+     * @param packed 压缩值
+     * @return 返回日
+     */
+    public static int day(long packed) {
+        return field(packed, DAY_SHIFT, DAY_BITS) + 1;
+    }
+
+    /**
+     * 获取时0-23
+     *
+     * @param packed 压缩值
+     * @return 返回时
+     */
+    public static int hour(long packed) {
+        return field(packed, HOUR_SHIFT, HOUR_BITS);
+    }
+
+    /**
+     * 获取分0-59
+     *
+     * @param packed 压缩值
+     * @return 返回分
+     */
+    public static int minute(long packed) {
+        return field(packed, MINUTE_SHIFT, MINUTE_BITS);
+    }
+
+    /**
+     * 获取秒0-59
+     *
+     * @param packed 压缩值
+     * @return 返回秒
+     */
+    public static int second(long packed) {
+        return field(packed, SECOND_SHIFT, SECOND_BITS);
+    }
+
+    /**
+     * 获取毫秒0-999
+     *
+     * @param packed 压缩值
+     * @return 返回毫秒
+     */
+    public static int millis(long packed) {
+        return field(packed, 0, MILLIS_BITS);
+    }
+
+    /**
+     * 获取季度1-4
+     *
+     * @param packed 压缩值
+     * @return 返回季度
+     */
+    public static int quarter(long packed) {
+        return (month(packed) + 2) / 3;
+    }
+
+    /**
+     * 获取{@code yyyyMMdd}时间数字如20250416
+     *
+     * @param packed 压缩值
+     * @return 获取值
+     */
+    public static int dateAsNum(long packed) {
+        return year(packed) * 10000 + month(packed) * 100 + day(packed);
+    }
+
+    /**
+     * 获取{@code HHmmss}时间数字如132647
+     *
+     * @param packed 压缩值
+     * @return 获取值
+     */
+    public static int timeAsNum(long packed) {
+        return hour(packed) * 10000 + minute(packed) * 100 + second(packed);
+    }
+
+    /**
+     * 获取{@code yyyyMMddHHmmss}时间数字如20250416132647
+     *
+     * @param packed 压缩值
+     * @return 获取值
+     */
+    public static long dateTimeAsNum(long packed) {
+        return dateAsNum(packed) * 1000000L + timeAsNum(packed);
+    }
+
+    /**
+     * 增加天，时分秒保持不变
+     *
+     * @param packed 压缩值
+     * @param value  增加的天数
+     * @return 返回新的压缩值
+     */
+    public static long plusDays(long packed, long value) {
+        if (value == 0) return packed;
+        long civil = Moment.toCivil(Math.addExact(epochDay(packed), value));
+        return pack(Moment.civilYear(civil), Moment.civilMonth(civil), Moment.civilDay(civil), millisOfDay(packed));
+    }
+
+    /**
+     * 增加月，日超出目标月的天数时截断为月末，规则同{@link Moment#addMonth(long)}
+     *
+     * @param packed 压缩值
+     * @param value  增加的月数
+     * @return 返回新的压缩值
+     */
+    public static long plusMonths(long packed, long value) {
+        if (value == 0) return packed;
+        long time = Math.addExact(field(packed, MONTH_SHIFT, MONTH_BITS), value);
+        long year = Math.addExact(year(packed), Math.floorDiv(time, 12));
+        int month = (int) Math.floorMod(time, 12);
+        int day = Math.min(field(packed, DAY_SHIFT, DAY_BITS), Moment.days((int) year, month + 1) - 1);
+        return pack(year, month, day, millisOfDay(packed));
+    }
+
+    /**
+     * 增加毫秒
+     *
+     * @param packed 压缩值
+     * @param value  增加的毫秒数
+     * @return 返回新的压缩值
+     */
+    public static long plusMillis(long packed, long value) {
+        return value == 0 ? packed : pack(Math.addExact(timestamp(packed), value));
+    }
+
+    private static int field(long packed, int shift, int bits) {
+        return (int) (packed >>> shift) & ((1 << bits) - 1);
+    }
+
+    private static long epochDay(long packed) {
+        return Moment.toEpochDay(year(packed), field(packed, MONTH_SHIFT, MONTH_BITS), field(packed, DAY_SHIFT, DAY_BITS));
+    }
+
+    private static int millisOfDay(long packed) {
+        return ((hour(packed) * 60 + minute(packed)) * 60 + second(packed)) * 1000 + millis(packed);
+    }
+}
@@ -0,0 +1,574 @@
+package com.github.zhitron.universal;
+
+import java.time.ZoneId;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.github.zhitron.universal.Moment.DAY_MS;
+
+/**
+ * 时间戳列，以基本类型数组保存时间戳，批量计算日历字段，结果写入可复用的输出数组
+ * <p>
+ * 输出数组为{@code null}或长度不足时会新建数组，否则直接写入输出数组的前{@link #size()}个元素并返回该数组
+ *
+ * @author zhitron
+ */
+public final class MomentColumn {
+    private static final int YEAR = 0, MONTH = 1, DAY = 2, QUARTER = 3;
+    /**
+     * 并行计算时每个任务处理的最少元素个数
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+    private final long[] timestamps;
+    private final int from, to;
+
+    private MomentColumn(long[] timestamps, int from, int to) {
+        if (from < 0 || to > timestamps.length || from > to) {
+            throw new IndexOutOfBoundsException("The range [" + from + "," + to + ") is outside the array of length " + timestamps.length + ".");
+        }
+        this.timestamps = timestamps;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * 创建{@link MomentColumn}，不复制数组
+     *
+     * @param timestamps 时间戳数组
+     * @return {@link MomentColumn}
+     */
+    public static MomentColumn of(long[] timestamps) {
+        return new MomentColumn(timestamps, 0, timestamps.length);
+    }
+
+    /**
+     * 创建{@link MomentColumn}，不复制数组
+     *
+     * @param timestamps 时间戳数组
+     * @param from       起始下标，包含
+     * @param to         结束下标，不包含
+     * @return {@link MomentColumn}
+     */
+    public static MomentColumn of(long[] timestamps, int from, int to) {
+        return new MomentColumn(timestamps, from, to);
+    }
+
+    /**
+     * 获取时间戳个数
+     *
+     * @return 返回时间戳个数
+     */
+    public int size() {
+        return to - from;
+    }
+
+    /**
+     * 获取指定位置的时间戳
+     *
+     * @param index 下标
+     * @return 返回时间戳
+     */
+    public long getTimestamp(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        return timestamps[from + index];
+    }
+
+    /**
+     * 批量获取{@code yyyyMMdd}时间数字如20250416
+     *
+     * @param out 输出数组
+     * @return 返回输出数组
+     */
+    public int[] getDateAsNum(int[] out) {
+        dateAsNum(timestamps, from, to, out = ensure(out), 0);
+        return out;
+    }
+
+    /**
+     * 批量获取{@code HHmmss}时间数字如132647
+     *
+     * @param out 输出数组
+     * @return 返回输出数组
+     */
+    public int[] getTimeAsNum(int[] out) {
+        timeAsNum(timestamps, from, to, out = ensure(out), 0);
+        return out;
+    }
+
+    /**
+     * 批量获取{@code yyyyMMddHHmmss}时间数字如20250416132647
+     *
+     * @param out 输出数组
+     * @return 返回输出数组
+     */
+    public long[] getDateTimeAsNum(long[] out) {
+        dateTimeAsNum(timestamps, from, to, out = ensure(out), 0);
+        return out;
+    }
+
+    /**
+     * 批量获取年
+     *
+     * @param out 输出数组
+     * @return 返回输出数组
+     */
+    public int[] getYearAsNum(int[] out) {
+        dateField(timestamps, from, to, out = ensure(out), 0, YEAR);
+        return out;
+    }
+
+    /**
+     * 批量获取月1-12
+     *
+     * @param out 输出数组
+     * @return 返回输出数组
+     */
+    public int[] getMonthAsNum(int[] out) {
+        dateField(timestamps, from, to, out = ensure(out), 0, MONTH);
+        return out;
+    }
+
+    /**
+     * 批量获取日1-31
+     *
+     * @param out 输出数组
+     * @return 返回输出数组
+     */
+    public int[] getDayAsNum(int[] out) {
+        dateField(timestamps, from, to, out = ensure(out), 0, DAY);
+        return out;
+    }
+
+    /**
+     * 批量获取季度1-4
+     *
+     * @param out 输出数组
+     * @return 返回输出数组
+     */
+    public int[] getQuarter(int[] out) {
+        dateField(timestamps, from, to, out = ensure(out), 0, QUARTER);
+        return out;
+    }
+
+    /**
+     * 批量获取时0-23
+     *
+     * @param out 输出数组
+     * @return 返回输出数组
+     */
+    public int[] getHourAsNum(int[] out) {
+        timeField(timestamps, from, to, out = ensure(out), 0, Moment.HOUR_MS, 24);
+        return out;
+    }
+
+    /**
+     * 批量获取分0-59
+     *
+     * @param out 输出数组
+     * @return 返回输出数组
+     */
+    public int[] getMinuteAsNum(int[] out) {
+        timeField(timestamps, from, to, out = ensure(out), 0, Moment.MINUTE_MS, 60);
+        return out;
+    }
+
+    /**
+     * 批量获取秒0-59
+     *
+     * @param out 输出数组
+     * @return 返回输出数组
+     */
+    public int[] getSecondAsNum(int[] out) {
+        timeField(timestamps, from, to, out = ensure(out), 0, Moment.SECOND_MS, 60);
+        return out;
+    }
+
+    /**
+     * 批量获取毫秒0-999
+     *
+     * @param out 输出数组
+     * @return 返回输出数组
+     */
+    public int[] getMillisAsNum(int[] out) {
+        timeField(timestamps, from, to, out = ensure(out), 0, 1, 1000);
+        return out;
+    }
+
+    /**
+     * 批量获取指定时区的本地{@code yyyyMMdd}时间数字，有序的时间戳沿时区变更依次前进，不必逐个查找偏移
+     *
+     * @param out    输出数组
+     * @param zoneId 时区
+     * @return 返回输出数组
+     */
+    public int[] getDateAsNum(int[] out, ZoneId zoneId) {
+        int[] dst = ensure(out);
+        dateAsNum(timestamps, from, to, dst, 0, new Offsets(MomentZone.of(zoneId)));
+        return dst;
+    }
+
+    /**
+     * 批量获取指定时区的本地{@code HHmmss}时间数字，有序的时间戳沿时区变更依次前进，不必逐个查找偏移
+     *
+     * @param out    输出数组
+     * @param zoneId 时区
+     * @return 返回输出数组
+     */
+    public int[] getTimeAsNum(int[] out, ZoneId zoneId) {
+        int[] dst = ensure(out);
+        timeAsNum(timestamps, from, to, dst, 0, new Offsets(MomentZone.of(zoneId)));
+        return dst;
+    }
+
+    /**
+     * 批量获取指定时区的本地{@code yyyyMMddHHmmss}时间数字，有序的时间戳沿时区变更依次前进，不必逐个查找偏移
+     *
+     * @param out    输出数组
+     * @param zoneId 时区
+     * @return 返回输出数组
+     */
+    public long[] getDateTimeAsNum(long[] out, ZoneId zoneId) {
+        long[] dst = ensure(out);
+        dateTimeAsNum(timestamps, from, to, dst, 0, new Offsets(MomentZone.of(zoneId)));
+        return dst;
+    }
+
+    /**
+     * 批量获取指定时区的本地时属性域0-23，有序的时间戳沿时区变更依次前进，不必逐个查找偏移
+     *
+     * @param out    输出数组
+     * @param zoneId 时区
+     * @return 返回输出数组
+     */
+    public int[] getHourAsNum(int[] out, ZoneId zoneId) {
+        int[] dst = ensure(out);
+        Offsets offsets = new Offsets(MomentZone.of(zoneId));
+        for (int i = from, j = 0; i < to; i++, j++) {
+            dst[j] = (int) (Math.floorMod(offsets.local(timestamps[i]), DAY_MS) / Moment.HOUR_MS);
+        }
+        return dst;
+    }
+
+    /**
+     * 使用{@link ForkJoinPool}并行批量获取{@code yyyyMMdd}时间数字，各任务写入输出数组互不重叠的区间
+     *
+     * @param out  输出数组
+     * @param pool 线程池
+     * @return 返回输出数组
+     */
+    public int[] getDateAsNum(int[] out, ForkJoinPool pool) {
+        int[] dst = ensure(out);
+        invoke(pool, (from, to, offset) -> dateAsNum(timestamps, from, to, dst, offset));
+        return dst;
+    }
+
+    /**
+     * 使用调用方提供的线程池并行批量获取{@code yyyyMMdd}时间数字，各任务写入输出数组互不重叠的区间
+     *
+     * @param out         输出数组
+     * @param executor    线程池
+     * @param parallelism 并行任务数
+     * @return 返回输出数组
+     */
+    public int[] getDateAsNum(int[] out, Executor executor, int parallelism) {
+        int[] dst = ensure(out);
+        invoke(executor, parallelism, (from, to, offset) -> dateAsNum(timestamps, from, to, dst, offset));
+        return dst;
+    }
+
+    /**
+     * 使用{@link ForkJoinPool}并行批量获取{@code HHmmss}时间数字，各任务写入输出数组互不重叠的区间
+     *
+     * @param out  输出数组
+     * @param pool 线程池
+     * @return 返回输出数组
+     */
+    public int[] getTimeAsNum(int[] out, ForkJoinPool pool) {
+        int[] dst = ensure(out);
+        invoke(pool, (from, to, offset) -> timeAsNum(timestamps, from, to, dst, offset));
+        return dst;
+    }
+
+    /**
+     * 使用调用方提供的线程池并行批量获取{@code HHmmss}时间数字，各任务写入输出数组互不重叠的区间
+     *
+     * @param out         输出数组
+     * @param executor    线程池
+     * @param parallelism 并行任务数
+     * @return 返回输出数组
+     */
+    public int[] getTimeAsNum(int[] out, Executor executor, int parallelism) {
+        int[] dst = ensure(out);
+        invoke(executor, parallelism, (from, to, offset) -> timeAsNum(timestamps, from, to, dst, offset));
+        return dst;
+    }
+
+    /**
+     * 使用{@link ForkJoinPool}并行批量获取{@code yyyyMMddHHmmss}时间数字，各任务写入输出数组互不重叠的区间
+     *
+     * @param out  输出数组
+     * @param pool 线程池
+     * @return 返回输出数组
+     */
+    public long[] getDateTimeAsNum(long[] out, ForkJoinPool pool) {
+        long[] dst = ensure(out);
+        invoke(pool, (from, to, offset) -> dateTimeAsNum(timestamps, from, to, dst, offset));
+        return dst;
+    }
+
+    /**
+     * 使用调用方提供的线程池并行批量获取{@code yyyyMMddHHmmss}时间数字，各任务写入输出数组互不重叠的区间
+     *
+     * @param out         输出数组
+     * @param executor    线程池
+     * @param parallelism 并行任务数
+     * @return 返回输出数组
+     */
+    public long[] getDateTimeAsNum(long[] out, Executor executor, int parallelism) {
+        long[] dst = ensure(out);
+        invoke(executor, parallelism, (from, to, offset) -> dateTimeAsNum(timestamps, from, to, dst, offset));
+        return dst;
+    }
+
+    /**
+     * 在{@link ForkJoinPool}中二分拆分区间并执行计算
+     *
+     * @param pool   线程池
+     * @param kernel 区间计算函数
+     */
+    private void invoke(ForkJoinPool pool, Kernel kernel) {
+        if (size() <= PARALLEL_THRESHOLD) {
+            kernel.apply(from, to, 0);
+        } else {
+            pool.invoke(new Task(kernel, from, to, 0));
+        }
+    }
+
+    /**
+     * 将区间均分为若干段提交到线程池执行，最后一段由调用线程执行，等待全部完成后返回
+     *
+     * @param executor    线程池
+     * @param parallelism 并行任务数
+     * @param kernel      区间计算函数
+     */
+    private void invoke(Executor executor, int parallelism, Kernel kernel) {
+        int size = size(), count = Math.max(1, Math.min(parallelism, (size + PARALLEL_THRESHOLD - 1) / PARALLEL_THRESHOLD));
+        if (count == 1) {
+            kernel.apply(from, to, 0);
+            return;
+        }
+        CountDownLatch latch = new CountDownLatch(count - 1);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        int step = size / count, remainder = size % count, start = from;
+        for (int i = 0; i < count - 1; i++) {
+            int begin = start, end = start += step + (i < remainder ? 1 : 0);
+            executor.execute(() -> {
+                try {
+                    kernel.apply(begin, end, begin - from);
+                } catch (Throwable e) {
+                    error.compareAndSet(null, e);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        kernel.apply(start, to, start - from);
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the parallel conversion to complete.", e);
+        }
+        Throwable e = error.get();
+        if (e instanceof RuntimeException) throw (RuntimeException) e;
+        if (e instanceof Error) throw (Error) e;
+    }
+
+    /**
+     * 区间计算函数，将源数组{@code [from,to)}的结果写入输出数组从{@code offset}开始的位置
+     */
+    @FunctionalInterface
+    private interface Kernel {
+        void apply(int from, int to, int offset);
+    }
+
+    /**
+     * 二分拆分区间的并行任务
+     */
+    private static final class Task extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final Kernel kernel;
+        private final int from, to, offset;
+
+        private Task(Kernel kernel, int from, int to, int offset) {
+            this.kernel = kernel;
+            this.from = from;
+            this.to = to;
+            this.offset = offset;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                kernel.apply(from, to, offset);
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Task(kernel, from, middle, offset), new Task(kernel, middle, to, offset + middle - from));
+            }
+        }
+    }
+
+    /**
+     * 时间戳到本地时间的转换游标，记住当前所在的偏移区间，超出区间时先尝试下一个区间再二分查找
+     */
+    private static final class Offsets {
+        private final MomentZone zone;
+        private int index = -1, offset;
+        private long start = Long.MAX_VALUE, end = Long.MIN_VALUE;
+
+        private Offsets(MomentZone zone) {
+            this.zone = zone;
+        }
+
+        long local(long timestamp) {
+            if (timestamp < start || timestamp >= end) {
+                int next = index >= 0 && timestamp >= end && timestamp < zone.end(index + 1) ? index + 1 : zone.index(timestamp);
+                if (next < 0) {
+                    // 超出预先展开的范围，逐个查找
+                    index = -1;
+                    return timestamp + zone.offset(timestamp);
+                }
+                index = next;
+                start = zone.start(next);
+                end = zone.end(next);
+                offset = zone.offsetAt(next);
+            }
+            return timestamp + offset;
+        }
+    }
+
+    private int[] ensure(int[] out) {
+        return out == null || out.length < size() ? new int[size()] : out;
+    }
+
+    private long[] ensure(long[] out) {
+        return out == null || out.length < size() ? new long[size()] : out;
+    }
+
+    /**
+     * 计算{@code [from,to)}范围内的{@code yyyyMMdd}，相邻时间戳处于同一天时复用上一次的结果
+     */
+    static void dateAsNum(long[] src, int from, int to, int[] dst, int offset) {
+        long last = Long.MIN_VALUE;
+        int value = 0;
+        for (int i = from, j = offset; i < to; i++, j++) {
+            long day = Math.floorDiv(src[i], DAY_MS);
+            if (day != last) {
+                value = Moment.civilDateNum(Moment.toCivil(last = day));
+            }
+            dst[j] = value;
+        }
+    }
+
+    /**
+     * 计算{@code [from,to)}范围内指定时区的本地{@code yyyyMMdd}，相邻时间戳处于同一天时复用上一次的结果
+     */
+    static void dateAsNum(long[] src, int from, int to, int[] dst, int offset, Offsets offsets) {
+        long last = Long.MIN_VALUE;
+        int value = 0;
+        for (int i = from, j = offset; i < to; i++, j++) {
+            long day = Math.floorDiv(offsets.local(src[i]), DAY_MS);
+            if (day != last) value = MomentZoned.date((last = day) * DAY_MS);
+            dst[j] = value;
+        }
+    }
+
+    /**
+     * 计算{@code [from,to)}范围内指定时区的本地{@code HHmmss}
+     */
+    static void timeAsNum(long[] src, int from, int to, int[] dst, int offset, Offsets offsets) {
+        for (int i = from, j = offset; i < to; i++, j++) {
+            dst[j] = MomentZoned.time(offsets.local(src[i]));
+        }
+    }
+
+    /**
+     * 计算{@code [from,to)}范围内指定时区的本地{@code yyyyMMddHHmmss}，相邻时间戳处于同一天时复用上一次的结果
+     */
+    static void dateTimeAsNum(long[] src, int from, int to, long[] dst, int offset, Offsets offsets) {
+        long last = Long.MIN_VALUE, value = 0;
+        for (int i = from, j = offset; i < to; i++, j++) {
+            long local = offsets.local(src[i]), day = Math.floorDiv(local, DAY_MS);
+            if (day != last) value = MomentZoned.date((last = day) * DAY_MS) * 1000000L;
+            dst[j] = value + MomentZoned.time(local);
+        }
+    }
+
+    /**
+     * 计算{@code [from,to)}范围内的{@code HHmmss}
+     */
+    static void timeAsNum(long[] src, int from, int to, int[] dst, int offset) {
+        for (int i = from, j = offset; i < to; i++, j++) {
+            int second = (int) (Math.floorMod(src[i], DAY_MS) / 1000);
+            dst[j] = second / 3600 * 10000 + second / 60 % 60 * 100 + second % 60;
+        }
+    }
+
+    /**
+     * 计算{@code [from,to)}范围内的{@code yyyyMMddHHmmss}，相邻时间戳处于同一天时复用上一次的结果
+     */
+    static void dateTimeAsNum(long[] src, int from, int to, long[] dst, int offset) {
+        long last = Long.MIN_VALUE, value = 0;
+        for (int i = from, j = offset; i < to; i++, j++) {
+            long timestamp = src[i], day = Math.floorDiv(timestamp, DAY_MS);
+            if (day != last) {
+                value = Moment.civilDateNum(Moment.toCivil(last = day)) * 1000000L;
+            }
+            int second = (int) ((timestamp - day * DAY_MS) / 1000);
+            dst[j] = value + second / 3600 * 10000 + second / 60 % 60 * 100 + second % 60;
+        }
+    }
+
+    /**
+     * 计算{@code [from,to)}范围内的年、月、日或季度，相邻时间戳处于同一天时复用上一次的结果
+     */
+    static void dateField(long[] src, int from, int to, int[] dst, int offset, int field) {
+        long last = Long.MIN_VALUE;
+        int value = 0;
+        for (int i = from, j = offset; i < to; i++, j++) {
+            long day = Math.floorDiv(src[i], DAY_MS);
+            if (day != last) {
+                long civil = Moment.toCivil(last = day);
+                switch (field) {
+                    case YEAR:
+                        value = (int) Moment.civilYear(civil);
+                        break;
+                    case MONTH:
+                        value = Moment.civilMonth(civil) + 1;
+                        break;
+                    case DAY:
+                        value = Moment.civilDay(civil) + 1;
+                        break;
+                    default:
+                        value = Moment.civilMonth(civil) / 3 + 1;
+                        break;
+                }
+            }
+            dst[j] = value;
+        }
+    }
+
+    /**
+     * 计算{@code [from,to)}范围内的时、分、秒或毫秒
+     */
+    static void timeField(long[] src, int from, int to, int[] dst, int offset, long unit, int next) {
+        for (int i = from, j = offset; i < to; i++, j++) {
+            dst[j] = (int) (Math.floorMod(src[i], DAY_MS) / unit % next);
+        }
+    }
+}
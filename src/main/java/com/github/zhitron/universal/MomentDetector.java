@@ -0,0 +1,203 @@
+package com.github.zhitron.universal;
+
+import java.time.ZoneId;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 时间格式自动识别，一次遍历输入得到长度和字符形状（数字记为{@code 0}，其余字符保持原样），直接选出形状相同的候选格式解析，
+ * 并按数据来源记住上次成功的格式，同一来源的后续输入优先使用该格式，可在线程间共享
+ * <p>
+ * 除时间格式外，还支持10位的纪元秒和13位的纪元毫秒
+ *
+ * @author zhitron
+ */
+public final class MomentDetector {
+    /**
+     * 默认的候选格式
+     */
+    private static final String[] PATTERNS = {
+            "yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd HH:mm:ss.SSS", "yyyy-MM-dd'T'HH:mm:ss", "yyyy-MM-dd'T'HH:mm:ss.SSS",
+            "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", "yyyy-MM-dd", "yyyy/MM/dd", "yyyy/MM/dd HH:mm:ss", "yyyyMMdd", "yyyyMMddHHmmss"
+    };
+    /**
+     * 记住的数据来源的最大个数，超过后新的来源不再记录
+     */
+    private static final int SOURCE_SIZE = 1024;
+    private final Candidate[] candidates;
+    private final ZoneId zoneId;
+    private final ConcurrentHashMap<Object, Candidate> sources = new ConcurrentHashMap<>();
+
+    private MomentDetector(ZoneId zoneId, String[] patterns) {
+        this.zoneId = zoneId;
+        this.candidates = new Candidate[patterns.length + 2];
+        for (int i = 0; i < patterns.length; i++) {
+            candidates[i] = new Candidate(MomentFormat.of(patterns[i]), 0);
+        }
+        candidates[patterns.length] = new Candidate(null, 10);
+        candidates[patterns.length + 1] = new Candidate(null, 13);
+    }
+
+    /**
+     * 创建使用默认候选格式的{@link MomentDetector}，按UTC解析
+     *
+     * @return {@link MomentDetector}
+     */
+    public static MomentDetector create() {
+        return new MomentDetector(Moment.UTC, PATTERNS);
+    }
+
+    /**
+     * 创建使用默认候选格式的{@link MomentDetector}
+     *
+     * @param zoneId 时区
+     * @return {@link MomentDetector}
+     */
+    public static MomentDetector create(ZoneId zoneId) {
+        return new MomentDetector(zoneId, PATTERNS);
+    }
+
+    /**
+     * 创建使用指定候选格式的{@link MomentDetector}，形状相同时靠前的格式优先
+     *
+     * @param zoneId   时区
+     * @param patterns 候选格式
+     * @return {@link MomentDetector}
+     */
+    public static MomentDetector of(ZoneId zoneId, String... patterns) {
+        return new MomentDetector(zoneId, patterns.clone());
+    }
+
+    /**
+     * 识别格式并解析时间设置到目标对象
+     *
+     * @param source 数据来源，如列名，为{@code null}时不记录
+     * @param input  时间字符串
+     * @param target 目标对象
+     * @return 返回目标对象
+     */
+    public Moment parse(Object source, CharSequence input, Moment target) {
+        long status = tryParse(source, input, target);
+        if (MomentFormat.isError(status)) {
+            throw new IllegalArgumentException(MomentFormat.message(status, input));
+        }
+        return target;
+    }
+
+    /**
+     * 识别格式并解析时间设置到目标对象，不抛出异常，规则同{@link MomentFormat#tryParse(CharSequence, int, Moment, ZoneId)}
+     *
+     * @param source 数据来源，如列名，为{@code null}时不记录
+     * @param input  时间字符串
+     * @param target 目标对象
+     * @return 返回解析状态，没有匹配的格式时错误码为{@link MomentFormat#ERROR_PATTERN}
+     */
+    public long tryParse(Object source, CharSequence input, Moment target) {
+        int length = input.length(), shape = 0;
+        for (int i = 0; i < length; i++) {
+            char c = input.charAt(i);
+            shape = shape * 31 + (c >= '0' && c <= '9' ? '0' : c);
+        }
+        Candidate last = source == null ? null : sources.get(source);
+        long status = MomentFormat.status(MomentFormat.ERROR_PATTERN, 0, 0, 0);
+        if (last != null && last.matches(length, shape)) {
+            long result = last.parse(input, target, zoneId);
+            if (!MomentFormat.isError(result)) return result;
+            status = result;
+        }
+        for (Candidate candidate : candidates) {
+            if (candidate == last || !candidate.matches(length, shape)) continue;
+            long result = candidate.parse(input, target, zoneId);
+            if (!MomentFormat.isError(result)) {
+                if (source != null && (last != null || sources.size() < SOURCE_SIZE)) {
+                    sources.put(source, candidate);
+                }
+                return result;
+            }
+            // 形状匹配但解析失败时保留第一个具体的错误
+            if (MomentFormat.errorCode(status) == MomentFormat.ERROR_PATTERN) status = result;
+        }
+        return status;
+    }
+
+    /**
+     * 获取数据来源上次成功的格式
+     *
+     * @param source 数据来源，为{@code null}时返回{@code null}
+     * @return 返回格式，纪元秒和纪元毫秒分别返回{@code "epoch-seconds"}和{@code "epoch-millis"}，没有记录时返回{@code null}
+     */
+    public String getPattern(Object source) {
+        Candidate candidate = source == null ? null : sources.get(source);
+        return candidate == null ? null : candidate.toString();
+    }
+
+    /**
+     * 候选格式，{@code format}为{@code null}时表示纪元秒或纪元毫秒
+     */
+    private static final class Candidate {
+        final MomentFormat format;
+        final int length, shape;
+        /**
+         * 原文字符的位置，形状的散列相同时逐个确认
+         */
+        final int[] literalAt;
+        final char[] template;
+
+        Candidate(MomentFormat format, int digits) {
+            this.format = format;
+            StringBuilder builder = new StringBuilder();
+            if (format == null) {
+                for (int i = 0; i < digits; i++) builder.append('0');
+            } else {
+                for (int i = 0; i < format.kinds.length; i++) {
+                    int kind = format.kinds[i];
+                    if (kind == MomentFormat.LITERAL) {
+                        builder.append(format.literals[i]);
+                    } else {
+                        builder.append(kind == MomentFormat.YEAR ? "0000" : kind == MomentFormat.MILLIS ? "000" : "00");
+                    }
+                }
+            }
+            this.length = builder.length();
+            this.template = builder.toString().toCharArray();
+            int shape = 0, literals = 0;
+            for (int i = 0; i < builder.length(); i++) {
+                shape = shape * 31 + builder.charAt(i);
+                if (builder.charAt(i) != '0') literals++;
+            }
+            this.shape = shape;
+            this.literalAt = new int[literals];
+            for (int i = 0, n = 0; i < builder.length(); i++) {
+                if (builder.charAt(i) != '0') literalAt[n++] = i;
+            }
+        }
+
+        boolean matches(int length, int shape) {
+            return this.length == length && this.shape == shape;
+        }
+
+        long parse(CharSequence input, Moment target, ZoneId zoneId) {
+            if (format != null) {
+                for (int at : literalAt) {
+                    if (input.charAt(at) != template[at]) return MomentFormat.status(MomentFormat.ERROR_PATTERN, 0, 0, 0);
+                }
+                return format.tryParse(input, 0, target, zoneId);
+            }
+            long value = 0;
+            for (int i = 0; i < length; i++) {
+                char c = input.charAt(i);
+                // 形状只按散列匹配，需要逐个确认都是数字
+                if (c < '0' || c > '9') return MomentFormat.status(MomentFormat.ERROR_PATTERN, 0, 0, 0);
+                value = value * 10 + c - '0';
+            }
+            target.setTimestamp(length == 10 ? value * 1000 : value);
+            target.micros = 0;
+            target.nanos = 0;
+            return MomentFormat.status(MomentFormat.STATUS_OK, length, 0, 0);
+        }
+
+        @Override
+        public String toString() {
+            return format != null ? format.getPattern() : length == 10 ? "epoch-seconds" : "epoch-millis";
+        }
+    }
+}
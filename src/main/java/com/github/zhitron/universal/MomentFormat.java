@@ -0,0 +1,838 @@
+package com.github.zhitron.universal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 编译后的时间格式，格式字符串只在编译时解析一次，之后的格式化和解析直接按标记数组执行，可在线程间共享
+ * <p>
+ * 支持的标记：{@code yyyy}年、{@code MM}月、{@code dd}日、{@code HH}时、{@code mm}分、{@code ss}秒、{@code SSS}毫秒，
+ * 单引号括起的内容按原文处理，两个连续的单引号表示一个单引号，其余字符均按原文处理
+ *
+ * @author zhitron
+ */
+public final class MomentFormat {
+    static final int LITERAL = 0, YEAR = 1, MONTH = 2, DAY = 3, HOUR = 4, MINUTE = 5, SECOND = 6, MILLIS = 7;
+    private static final String[] TOKENS = {null, "yyyy", "MM", "dd", "HH", "mm", "ss", "SSS"};
+    private static final int[] WIDTHS = {0, 4, 2, 2, 2, 2, 2, 3};
+    /**
+     * {@link #tryParse(CharSequence, int, Moment, ZoneId)}返回状态中的错误码：成功、月日时分秒毫秒超出范围、字段不是数字或输入长度不足、
+     * {@link MomentDetector}没有匹配的格式
+     */
+    public static final int STATUS_OK = 0, ERROR_MONTH = MONTH, ERROR_DAY = DAY, ERROR_HOUR = HOUR, ERROR_MINUTE = MINUTE,
+            ERROR_SECOND = SECOND, ERROR_MILLIS = MILLIS, ERROR_FIELD = 8, ERROR_PATTERN = 9;
+    /**
+     * 缓存的最大格式个数，超过后新的格式不再放入缓存
+     */
+    private static final int CACHE_SIZE = 256;
+    private static final ConcurrentHashMap<String, MomentFormat> CACHE = new ConcurrentHashMap<>();
+    /**
+     * 两位数字的十位和个位字符表
+     */
+    private static final char[] DIGIT_TENS = new char[100], DIGIT_ONES = new char[100];
+    /**
+     * 写入字节缓冲区时每个线程复用的字节数组
+     */
+    private static final ThreadLocal<byte[]> BYTES = ThreadLocal.withInitial(() -> new byte[64]);
+
+    static {
+        for (int i = 0; i < 100; i++) {
+            DIGIT_TENS[i] = (char) ('0' + i / 10);
+            DIGIT_ONES[i] = (char) ('0' + i % 10);
+        }
+    }
+
+    /**
+     * {@link Moment#toString()}使用的ISO-8601格式{@code yyyy-MM-dd'T'HH:mm:ss.SSS'Z'}
+     */
+    public static final MomentFormat ISO = compile("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
+
+    private final String pattern;
+    final int[] kinds;
+    final String[] literals;
+    private final char[][] literalChars;
+    private final byte[][] literalBytes;
+    private final int maxLength, fixedLength, years, millis;
+    /**
+     * 可使用SWAR快速解析的固定布局，见{@link MomentSwar}
+     */
+    private final int layout;
+    /**
+     * 每个线程最近一次格式化的结果，同一秒内只需重写毫秒
+     */
+    private final ThreadLocal<Rendered> last;
+
+    private MomentFormat(String pattern, int[] kinds, String[] literals) {
+        this.pattern = pattern;
+        this.kinds = kinds;
+        this.literals = literals;
+        this.literalChars = new char[literals.length][];
+        this.literalBytes = new byte[literals.length][];
+        int maxLength = 0, fixedLength = 0, years = 0, millis = 0;
+        for (int i = 0; i < kinds.length; i++) {
+            if (kinds[i] == LITERAL) {
+                literalChars[i] = literals[i].toCharArray();
+                literalBytes[i] = literals[i].getBytes(StandardCharsets.UTF_8);
+                maxLength += literalBytes[i].length;
+                fixedLength += literalChars[i].length;
+            } else if (kinds[i] == YEAR) {
+                // 年份按实际位数输出，最长为int的最小值
+                maxLength += 11;
+                years++;
+            } else {
+                maxLength += WIDTHS[kinds[i]];
+                fixedLength += WIDTHS[kinds[i]];
+                if (kinds[i] == MILLIS) millis++;
+            }
+        }
+        this.maxLength = maxLength;
+        this.fixedLength = fixedLength;
+        this.years = years;
+        this.millis = millis;
+        this.layout = MomentSwar.layout(kinds, literals);
+        this.last = ThreadLocal.withInitial(() -> new Rendered(this.maxLength, this.millis));
+    }
+
+    /**
+     * 获取编译后的时间格式，相同的格式字符串从缓存中返回同一个对象
+     *
+     * @param pattern 时间格式，如 "yyyy-MM-dd HH:mm:ss"
+     * @return {@link MomentFormat}
+     */
+    public static MomentFormat of(String pattern) {
+        MomentFormat format = CACHE.get(pattern);
+        if (format == null) {
+            format = compile(pattern);
+            if (CACHE.size() < CACHE_SIZE) {
+                MomentFormat previous = CACHE.putIfAbsent(pattern, format);
+                if (previous != null) format = previous;
+            }
+        }
+        return format;
+    }
+
+    /**
+     * 编译时间格式，不使用缓存
+     *
+     * @param pattern 时间格式，如 "yyyy-MM-dd HH:mm:ss"
+     * @return {@link MomentFormat}
+     */
+    public static MomentFormat compile(String pattern) {
+        List<Integer> kinds = new ArrayList<>();
+        List<String> literals = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int len = pattern.length();
+        for (int i = 0; i < len; ) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                // 单引号括起的原文，两个连续的单引号表示一个单引号
+                int j = i + 1;
+                if (j < len && pattern.charAt(j) == '\'') {
+                    literal.append('\'');
+                    i = j + 1;
+                    continue;
+                }
+                for (; j < len; j++) {
+                    if (pattern.charAt(j) == '\'') {
+                        if (j + 1 < len && pattern.charAt(j + 1) == '\'') {
+                            literal.append('\'');
+                            j++;
+                        } else {
+                            break;
+                        }
+                    } else {
+                        literal.append(pattern.charAt(j));
+                    }
+                }
+                i = j + 1;
+                continue;
+            }
+            int j = i + 1;
+            if ("yMdHmsS".indexOf(c) >= 0) {
+                while (j < len && pattern.charAt(j) == c) j++;
+                int kind = kindOf(pattern.substring(i, j));
+                if (kind != LITERAL) {
+                    if (literal.length() > 0) {
+                        kinds.add(LITERAL);
+                        literals.add(literal.toString());
+                        literal.setLength(0);
+                    }
+                    kinds.add(kind);
+                    literals.add(null);
+                    i = j;
+                    continue;
+                }
+            }
+            literal.append(pattern, i, j);
+            i = j;
+        }
+        if (literal.length() > 0) {
+            kinds.add(LITERAL);
+            literals.add(literal.toString());
+        }
+        int[] array = new int[kinds.size()];
+        for (int i = 0; i < array.length; i++) array[i] = kinds.get(i);
+        return new MomentFormat(pattern, array, literals.toArray(new String[0]));
+    }
+
+    private static int kindOf(String token) {
+        for (int kind = YEAR; kind < TOKENS.length; kind++) {
+            if (TOKENS[kind].equals(token)) return kind;
+        }
+        return LITERAL;
+    }
+
+    /**
+     * 获取时间格式字符串
+     *
+     * @return 返回时间格式字符串
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * 将时间格式化为{@link String}
+     *
+     * @param moment 时间
+     * @return 返回格式化后的 {@link String}
+     */
+    public String format(Moment moment) {
+        return format(moment, Moment.UTC);
+    }
+
+    /**
+     * 将时间格式化为{@link String}
+     *
+     * @param moment 时间
+     * @param zoneId 时区
+     * @return 返回格式化后的 {@link String}
+     */
+    public String format(Moment moment, ZoneId zoneId) {
+        Rendered rendered = render(moment, zoneId);
+        return new String(rendered.chars, 0, rendered.length);
+    }
+
+    /**
+     * 将时间格式化后追加到{@link StringBuilder}
+     *
+     * @param moment  时间
+     * @param zoneId  时区
+     * @param builder 输出对象
+     * @return 返回输出对象
+     */
+    public StringBuilder formatTo(Moment moment, ZoneId zoneId, StringBuilder builder) {
+        Rendered rendered = render(moment, zoneId);
+        return builder.append(rendered.chars, 0, rendered.length);
+    }
+
+    /**
+     * 将时间格式化后追加到{@link Appendable}
+     *
+     * @param moment     时间
+     * @param zoneId     时区
+     * @param appendable 输出对象
+     * @param <A>        输出对象类型
+     * @return 返回输出对象
+     * @throws IOException 输出对象写入失败时抛出
+     */
+    public <A extends Appendable> A formatTo(Moment moment, ZoneId zoneId, A appendable) throws IOException {
+        if (appendable instanceof StringBuilder) {
+            formatTo(moment, zoneId, (StringBuilder) appendable);
+            return appendable;
+        }
+        Rendered rendered = render(moment, zoneId);
+        for (int i = 0; i < rendered.length; i++) {
+            appendable.append(rendered.chars[i]);
+        }
+        return appendable;
+    }
+
+    /**
+     * 将时间格式化后写入字符数组，数组剩余长度不足时抛出{@link ArrayIndexOutOfBoundsException}
+     *
+     * @param moment 时间
+     * @param zoneId 时区
+     * @param dst    输出数组
+     * @param offset 写入的起始位置
+     * @return 返回写入结束的位置
+     */
+    public int formatTo(Moment moment, ZoneId zoneId, char[] dst, int offset) {
+        return write(moment, zoneId, dst, null, offset);
+    }
+
+    /**
+     * 将时间格式化后写入字节数组，数字按ASCII编码，原文按UTF-8编码，数组剩余长度不足时抛出{@link ArrayIndexOutOfBoundsException}
+     *
+     * @param moment 时间
+     * @param zoneId 时区
+     * @param dst    输出数组
+     * @param offset 写入的起始位置
+     * @return 返回写入结束的位置
+     */
+    public int formatTo(Moment moment, ZoneId zoneId, byte[] dst, int offset) {
+        return write(moment, zoneId, null, dst, offset);
+    }
+
+    /**
+     * 将时间戳格式化后写入字节数组，不创建{@link Moment}，数组剩余长度不足时抛出{@link ArrayIndexOutOfBoundsException}
+     *
+     * @param timestamp 时间戳
+     * @param zoneId    时区
+     * @param dst       输出数组
+     * @param offset    写入的起始位置
+     * @return 返回写入结束的位置
+     */
+    public int formatTo(long timestamp, ZoneId zoneId, byte[] dst, int offset) {
+        return write(timestamp, zoneId, null, dst, offset);
+    }
+
+    /**
+     * 将时间格式化后从{@link ByteBuffer}的position开始写入，写入后position增加写入的字节数，剩余空间不足时抛出{@link java.nio.BufferOverflowException}
+     *
+     * @param moment 时间
+     * @param zoneId 时区
+     * @param dst    输出缓冲区
+     * @return 返回输出缓冲区
+     */
+    public ByteBuffer formatTo(Moment moment, ZoneId zoneId, ByteBuffer dst) {
+        if (dst.hasArray() && dst.remaining() >= maxLength) {
+            int start = dst.arrayOffset() + dst.position();
+            dst.position(dst.position() + write(moment, zoneId, null, dst.array(), start) - start);
+            return dst;
+        }
+        byte[] bytes = bytes();
+        return dst.put(bytes, 0, write(moment, zoneId, null, bytes, 0));
+    }
+
+    /**
+     * 将时间戳格式化后从{@link ByteBuffer}的position开始写入，不创建{@link Moment}，写入后position增加写入的字节数，剩余空间不足时抛出{@link java.nio.BufferOverflowException}
+     *
+     * @param timestamp 时间戳
+     * @param zoneId    时区
+     * @param dst       输出缓冲区
+     * @return 返回输出缓冲区
+     */
+    public ByteBuffer formatTo(long timestamp, ZoneId zoneId, ByteBuffer dst) {
+        if (dst.hasArray() && dst.remaining() >= maxLength) {
+            int start = dst.arrayOffset() + dst.position();
+            dst.position(dst.position() + write(timestamp, zoneId, null, dst.array(), start) - start);
+            return dst;
+        }
+        byte[] bytes = bytes();
+        return dst.put(bytes, 0, write(timestamp, zoneId, null, bytes, 0));
+    }
+
+    /**
+     * 获取格式化结果的最大长度
+     *
+     * @return 返回格式化结果的最大字符数，按UTF-8编码时为最大字节数
+     */
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * 按时区计算本地字段并写入字符数组或字节数组，两者只有一个不为{@code null}，UTC时直接使用时间对象已分解的字段
+     */
+    private int write(Moment moment, ZoneId zoneId, char[] chars, byte[] bytes, int offset) {
+        long timestamp = moment.getTimestamp();
+        int zoneOffset = MomentZone.offsetMillis(zoneId, timestamp);
+        if (zoneOffset == 0) {
+            return write(chars, bytes, offset, moment.getYearAsNum(), moment.getMonthAsNum(), moment.getDayAsNum(),
+                    moment.getHourAsNum(), moment.getMinuteAsNum(), moment.getSecondAsNum(), moment.getMillisAsNum());
+        }
+        return write(chars, bytes, offset, timestamp + zoneOffset);
+    }
+
+    /**
+     * 按时区由时间戳计算本地字段并写入字符数组或字节数组，两者只有一个不为{@code null}
+     */
+    private int write(long timestamp, ZoneId zoneId, char[] chars, byte[] bytes, int offset) {
+        return write(chars, bytes, offset, timestamp + MomentZone.offsetMillis(zoneId, timestamp));
+    }
+
+    private int write(char[] chars, byte[] bytes, int offset, long local) {
+        long civil = Moment.toCivil(Math.floorDiv(local, Moment.DAY_MS));
+        int time = (int) Math.floorMod(local, Moment.DAY_MS);
+        return write(chars, bytes, offset, (int) Moment.civilYear(civil), Moment.civilMonth(civil) + 1, Moment.civilDay(civil) + 1,
+                time / 3600000, time / 60000 % 60, time / 1000 % 60, time % 1000);
+    }
+
+    private int write(char[] chars, byte[] bytes, int offset, int year, int month, int day, int hour, int minute, int second, int millis) {
+        for (int i = 0; i < kinds.length; i++) {
+            switch (kinds[i]) {
+                case YEAR:
+                    offset = putInt(chars, bytes, offset, year);
+                    break;
+                case MONTH:
+                    offset = put2(chars, bytes, offset, month);
+                    break;
+                case DAY:
+                    offset = put2(chars, bytes, offset, day);
+                    break;
+                case HOUR:
+                    offset = put2(chars, bytes, offset, hour);
+                    break;
+                case MINUTE:
+                    offset = put2(chars, bytes, offset, minute);
+                    break;
+                case SECOND:
+                    offset = put2(chars, bytes, offset, second);
+                    break;
+                case MILLIS:
+                    offset = put(chars, bytes, offset, (char) ('0' + millis / 100));
+                    offset = put2(chars, bytes, offset, millis % 100);
+                    break;
+                default:
+                    if (chars != null) {
+                        char[] literal = literalChars[i];
+                        System.arraycopy(literal, 0, chars, offset, literal.length);
+                        offset += literal.length;
+                    } else {
+                        byte[] literal = literalBytes[i];
+                        System.arraycopy(literal, 0, bytes, offset, literal.length);
+                        offset += literal.length;
+                    }
+                    break;
+            }
+        }
+        return offset;
+    }
+
+    private static int put(char[] chars, byte[] bytes, int offset, char c) {
+        if (chars != null) chars[offset] = c;
+        else bytes[offset] = (byte) c;
+        return offset + 1;
+    }
+
+    private static int put2(char[] chars, byte[] bytes, int offset, int value) {
+        if (chars != null) {
+            chars[offset] = DIGIT_TENS[value];
+            chars[offset + 1] = DIGIT_ONES[value];
+        } else {
+            bytes[offset] = (byte) DIGIT_TENS[value];
+            bytes[offset + 1] = (byte) DIGIT_ONES[value];
+        }
+        return offset + 2;
+    }
+
+    private static int putInt(char[] chars, byte[] bytes, int offset, int value) {
+        if (value < 0) {
+            offset = put(chars, bytes, offset, '-');
+            if (value == Integer.MIN_VALUE) {
+                // 最小值无法取反，先输出最高位
+                offset = put(chars, bytes, offset, '2');
+                value = -147483648;
+            }
+            value = -value;
+        }
+        int digits = 1;
+        for (int v = value; v >= 10; v /= 10) digits++;
+        for (int i = offset + digits - 1; i >= offset; i--, value /= 10) {
+            put(chars, bytes, i, (char) ('0' + value % 10));
+        }
+        return offset + digits;
+    }
+
+    /**
+     * 按当前线程最近一次的格式化结果输出，与上次处于同一秒时只重写毫秒，否则完整格式化并记录毫秒的位置
+     */
+    private Rendered render(Moment moment, ZoneId zoneId) {
+        long timestamp = moment.getTimestamp(), local = timestamp + MomentZone.offsetMillis(zoneId, timestamp);
+        long second = Math.floorDiv(local, 1000);
+        int millis = (int) (local - second * 1000);
+        Rendered rendered = last.get();
+        if (rendered.second != second) {
+            rendered.length = write(rendered.chars, null, 0, local);
+            rendered.second = second;
+            rendered.millis = millis;
+            if (this.millis > 0) {
+                // 同一格式中的年份位数相同，由总长度反推年份宽度
+                int yearWidth = years == 0 ? 0 : (rendered.length - fixedLength) / years;
+                for (int i = 0, at = 0, n = 0; i < kinds.length; i++) {
+                    int kind = kinds[i];
+                    if (kind == MILLIS) rendered.millisAt[n++] = at;
+                    at += kind == LITERAL ? literalChars[i].length : kind == YEAR ? yearWidth : WIDTHS[kind];
+                }
+            }
+        } else if (rendered.millis != millis) {
+            for (int at : rendered.millisAt) {
+                rendered.chars[at] = (char) ('0' + millis / 100);
+                put2(rendered.chars, null, at + 1, millis % 100);
+            }
+            rendered.millis = millis;
+        }
+        return rendered;
+    }
+
+    private byte[] bytes() {
+        byte[] bytes = BYTES.get();
+        if (bytes.length < maxLength) {
+            BYTES.set(bytes = new byte[maxLength]);
+        }
+        return bytes;
+    }
+
+    /**
+     * 解析时间字符串并设置到目标对象，格式中缺少的年月日取目标对象的当前值，缺少的时分秒毫秒取0
+     *
+     * @param input  时间字符串，如 "2025-04-16T13:26:47.123"
+     * @param target 目标对象
+     * @param zoneId 时区
+     * @return 返回目标对象
+     */
+    public Moment parse(String input, Moment target, ZoneId zoneId) {
+        parse(input, 0, target, zoneId);
+        return target;
+    }
+
+    /**
+     * 从指定位置开始就地读取字符序列中的数字解析时间并设置到目标对象，不创建中间字符串和{@code java.time}对象，
+     * 格式中缺少的年月日取目标对象的当前值，缺少的时分秒毫秒取0，原文部分按长度跳过
+     *
+     * @param input  字符序列
+     * @param offset 解析的起始位置
+     * @param target 目标对象
+     * @param zoneId 时区
+     * @return 返回解析结束的位置
+     */
+    public int parse(CharSequence input, int offset, Moment target, ZoneId zoneId) {
+        long status = tryParse(input, offset, target, zoneId);
+        if (isError(status)) {
+            throw new IllegalArgumentException(message(status, input));
+        }
+        return position(status);
+    }
+
+    /**
+     * 解析时间并设置到目标对象，规则同{@link #parse(CharSequence, int, Moment, ZoneId)}，输入不合法时不抛出异常也不修改目标对象，
+     * 而是返回错误状态，错误信息只在调用{@link #message(long, CharSequence)}时生成
+     *
+     * @param input  字符序列
+     * @param offset 解析的起始位置
+     * @param target 目标对象
+     * @param zoneId 时区
+     * @return 返回解析状态，通过{@link #errorCode(long)}获取错误码，通过{@link #position(long)}获取解析结束或出错的位置
+     */
+    public long tryParse(CharSequence input, int offset, Moment target, ZoneId zoneId) {
+        if (layout != MomentSwar.NONE) {
+            long local = MomentSwar.parse(layout, input, offset);
+            if (local != MomentSwar.INVALID) {
+                set(target, local, zoneId);
+                return status(STATUS_OK, offset + MomentSwar.length(layout), 0, 0);
+            }
+        }
+        int year = target.getYearAsNum(), month = target.getMonthAsNum(), day = target.getDayAsNum(),
+                hour = 0, minute = 0, second = 0, millis = 0, length = input.length(), t = offset;
+        for (int i = 0; i < kinds.length; i++) {
+            int kind = kinds[i];
+            if (kind == LITERAL) {
+                t += literalChars[i].length;
+                continue;
+            }
+            int width = WIDTHS[kind], end = t + width, value = 0;
+            boolean negative = false;
+            if (end > length) {
+                return status(ERROR_FIELD, t, kind, 0);
+            }
+            for (int k = t; k < end; k++) {
+                int digit = input.charAt(k) - '0';
+                if (digit >= 0 && digit <= 9) {
+                    value = value * 10 + digit;
+                } else if (k == t && k + 1 < end && (digit == '-' - '0' || digit == '+' - '0')) {
+                    // 与Integer.parseInt一致，字段的首位允许符号
+                    negative = digit == '-' - '0';
+                } else {
+                    return status(ERROR_FIELD, t, kind, 0);
+                }
+            }
+            t = end;
+            if (negative) value = -value;
+            switch (kind) {
+                case YEAR:
+                    year = value;
+                    break;
+                case MONTH:
+                    month = value;
+                    break;
+                case DAY:
+                    day = value;
+                    break;
+                case HOUR:
+                    hour = value;
+                    break;
+                case MINUTE:
+                    minute = value;
+                    break;
+                case SECOND:
+                    second = value;
+                    break;
+                default:
+                    millis = value;
+                    break;
+            }
+        }
+        long status = check(year, month, day, hour, minute, second, millis, Math.min(t, length));
+        if (!isError(status)) {
+            set(target, year, month, day, hour, minute, second, millis, zoneId);
+        }
+        return status;
+    }
+
+    /**
+     * 判断解析状态是否为错误
+     *
+     * @param status 解析状态
+     * @return 解析失败返回{@code true}
+     */
+    public static boolean isError(long status) {
+        return errorCode(status) != STATUS_OK;
+    }
+
+    /**
+     * 获取解析状态中的错误码
+     *
+     * @param status 解析状态
+     * @return 返回错误码，成功时返回{@link #STATUS_OK}
+     */
+    public static int errorCode(long status) {
+        return (int) (status >>> 32) & 0xFF;
+    }
+
+    /**
+     * 获取解析状态中的位置，成功时为解析结束的位置，字段错误时为该字段的起始位置，范围错误时为解析结束的位置
+     *
+     * @param status 解析状态
+     * @return 返回位置
+     */
+    public static int position(long status) {
+        return (int) status;
+    }
+
+    /**
+     * 生成解析状态对应的错误信息
+     *
+     * @param status 解析状态
+     * @param input  解析时的字符序列
+     * @return 返回错误信息，成功时返回{@code null}
+     */
+    public static String message(long status, CharSequence input) {
+        int position = position(status), value = (short) (status >>> 40);
+        switch (errorCode(status)) {
+            case STATUS_OK:
+                return null;
+            case ERROR_MONTH:
+                return "The month exceeds the range of [1,12],The actual value resolved is '" + value + "'.";
+            case ERROR_DAY:
+                return "The dat exceeds the range of [1," + (status >>> 56) + "],The actual value resolved is '" + value + "'.";
+            case ERROR_HOUR:
+                return "The hour exceeds the range of [0,24),The actual value resolved is '" + value + "'.";
+            case ERROR_MINUTE:
+                return "The minute exceeds the range of [0,60),The actual value resolved is '" + value + "'.";
+            case ERROR_SECOND:
+                return "The second exceeds the range of [0,60),The actual value resolved is '" + value + "'.";
+            case ERROR_MILLIS:
+                return "The millis exceeds the range of [0,1000),The actual value resolved is '" + value + "'.";
+            case ERROR_PATTERN:
+                return "No pattern matches the string '" + input + "'.";
+            default:
+                int end = position + WIDTHS[value];
+                CharSequence field = end <= input.length() ? input.subSequence(position, end) : "";
+                return "There was an error in parsing the '" + TOKENS[value] + "' pattern of the substring '" + field + "' returned (" + position + "," + end + ") in the string '" + input + "' index.";
+        }
+    }
+
+    /**
+     * 组装解析状态：低32位为位置，其上8位为错误码，再上16位为出错的值，最高8位为当月天数
+     */
+    static long status(int code, int position, int value, int days) {
+        return (long) days << 56 | (value & 0xFFFFL) << 40 | (long) code << 32 | position & 0xFFFFFFFFL;
+    }
+
+    /**
+     * 从字节数组的指定位置按ASCII解析时间并设置到目标对象，规则同{@link #parse(ByteBuffer, Moment, ZoneId)}
+     *
+     * @param src    输入数组
+     * @param offset 解析的起始位置
+     * @param target 目标对象
+     * @param zoneId 时区
+     * @return 返回解析结束的位置
+     */
+    public int parse(byte[] src, int offset, Moment target, ZoneId zoneId) {
+        if (layout != MomentSwar.NONE) {
+            long local = MomentSwar.parse(layout, src, offset);
+            if (local != MomentSwar.INVALID) {
+                set(target, local, zoneId);
+                return offset + MomentSwar.length(layout);
+            }
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(src, offset, src.length - offset);
+        parse(buffer, target, zoneId);
+        return buffer.position();
+    }
+
+    /**
+     * 从{@link ByteBuffer}的position开始按ASCII解析时间并设置到目标对象，不创建{@link String}，
+     * 成功后position增加读取的字节数，格式中缺少的年月日取目标对象的当前值，缺少的时分秒毫秒取0
+     *
+     * @param src    输入缓冲区
+     * @param target 目标对象
+     * @param zoneId 时区
+     * @return 返回目标对象
+     */
+    public Moment parse(ByteBuffer src, Moment target, ZoneId zoneId) {
+        int start = src.position();
+        long status = tryParse(src, target, zoneId);
+        if (errorCode(status) == ERROR_FIELD) {
+            int kind = (short) (status >>> 40);
+            if (kind == LITERAL) {
+                throw new IllegalArgumentException("The buffer ends before the pattern '" + pattern + "' is complete.");
+            }
+            throw new IllegalArgumentException("There was an error in parsing the '" + TOKENS[kind] + "' pattern at the byte index " + (position(status) - start) + " of the buffer.");
+        }
+        if (isError(status)) {
+            throw new IllegalArgumentException(message(status, null));
+        }
+        return target;
+    }
+
+    /**
+     * 从{@link ByteBuffer}的position开始按ASCII解析时间并设置到目标对象，规则同{@link #parse(ByteBuffer, Moment, ZoneId)}，
+     * 输入不合法时不抛出异常，也不修改目标对象和缓冲区的position
+     *
+     * @param src    输入缓冲区
+     * @param target 目标对象
+     * @param zoneId 时区
+     * @return 返回解析状态，位置为缓冲区中解析结束或出错的字节下标
+     */
+    public long tryParse(ByteBuffer src, Moment target, ZoneId zoneId) {
+        if (layout != MomentSwar.NONE) {
+            long local = MomentSwar.parse(layout, src, src.position());
+            if (local != MomentSwar.INVALID) {
+                set(target, local, zoneId);
+                src.position(src.position() + MomentSwar.length(layout));
+                return status(STATUS_OK, src.position(), 0, 0);
+            }
+        }
+        int year = target.getYearAsNum(), month = target.getMonthAsNum(), day = target.getDayAsNum(),
+                hour = 0, minute = 0, second = 0, millis = 0, limit = src.limit(), t = src.position();
+        for (int i = 0; i < kinds.length; i++) {
+            int kind = kinds[i];
+            if (kind == LITERAL) {
+                t += literalBytes[i].length;
+                continue;
+            }
+            int width = WIDTHS[kind], value = 0;
+            boolean negative = false;
+            for (int start = t, end = t + width; t < end; t++) {
+                int digit = t < limit ? src.get(t) - '0' : -1;
+                if (digit >= 0 && digit <= 9) {
+                    value = value * 10 + digit;
+                } else if (t == start && t + 1 < end && (digit == '-' - '0' || digit == '+' - '0')) {
+                    // 与字符序列的解析一致，字段的首位允许符号
+                    negative = digit == '-' - '0';
+                } else {
+                    return status(ERROR_FIELD, t, kind, 0);
+                }
+            }
+            if (negative) value = -value;
+            switch (kind) {
+                case YEAR:
+                    year = value;
+                    break;
+                case MONTH:
+                    month = value;
+                    break;
+                case DAY:
+                    day = value;
+                    break;
+                case HOUR:
+                    hour = value;
+                    break;
+                case MINUTE:
+                    minute = value;
+                    break;
+                case SECOND:
+                    second = value;
+                    break;
+                default:
+                    millis = value;
+                    break;
+            }
+        }
+        if (t > limit) {
+            return status(ERROR_FIELD, limit, LITERAL, 0);
+        }
+        long status = check(year, month, day, hour, minute, second, millis, t);
+        if (!isError(status)) {
+            set(target, year, month, day, hour, minute, second, millis, zoneId);
+            src.position(t);
+        }
+        return status;
+    }
+
+    /**
+     * 校验各字段的范围，返回解析状态
+     */
+    private static long check(int year, int month, int day, int hour, int minute, int second, int millis, int position) {
+        if (month < 1 || month > 12) {
+            return status(ERROR_MONTH, position, month, 0);
+        }
+        int days = Moment.days(year, month);
+        if (day < 1 || day > days) {
+            return status(ERROR_DAY, position, day, days);
+        }
+        if (hour < 0 || hour >= 24) {
+            return status(ERROR_HOUR, position, hour, 0);
+        }
+        if (minute < 0 || minute >= 60) {
+            return status(ERROR_MINUTE, position, minute, 0);
+        }
+        if (second < 0 || second >= 60) {
+            return status(ERROR_SECOND, position, second, 0);
+        }
+        if (millis < 0 || millis >= 1000) {
+            return status(ERROR_MILLIS, position, millis, 0);
+        }
+        return status(STATUS_OK, position, 0, 0);
+    }
+
+    /**
+     * 由校验过的本地时间字段计算时间戳设置到目标对象
+     */
+    private static void set(Moment target, int year, int month, int day, int hour, int minute, int second, int millis, ZoneId zoneId) {
+        set(target, Moment.toEpochDay(year, month - 1, day - 1) * Moment.DAY_MS + ((hour * 60 + minute) * 60 + second) * 1000L + millis, zoneId);
+    }
+
+    private static void set(Moment target, long local, ZoneId zoneId) {
+        target.micros = 0;
+        target.nanos = 0;
+        target.setTimestamp(local - MomentZone.localOffsetMillis(zoneId, local));
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+
+    /**
+     * 最近一次的格式化结果
+     */
+    private static final class Rendered {
+        final char[] chars;
+        final int[] millisAt;
+        long second = Long.MIN_VALUE;
+        int millis, length;
+
+        Rendered(int maxLength, int millis) {
+            this.chars = new char[maxLength];
+            this.millisAt = new int[millis];
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.github.zhitron.universal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.time.ZoneId;
+import java.util.Arrays;
+
+/**
+ * 分隔文本中时间列的流式解析器，按行读取{@link Reader}、{@link InputStream}或{@link ReadableByteChannel}，
+ * 在读取缓冲区中直接定位指定列并按编译后的格式解析，结果按批写入{@code long[]}，不为每一行创建{@link String}
+ * <p>
+ * 行以{@code \n}结束，行尾的{@code \r}会被忽略，空行跳过；列不存在、解析失败或字段有多余内容时写入{@link #INVALID}，
+ * 格式中缺少的年月日按1970-01-01处理，字节输入按ASCII处理，不是线程安全的
+ *
+ * @author zhitron
+ */
+public final class MomentReader implements Closeable {
+    /**
+     * 无法解析的行写入的值
+     */
+    public static final long INVALID = Long.MIN_VALUE;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private final Reader reader;
+    private final ReadableByteChannel channel;
+    private final char delimiter;
+    private final int column;
+    private final MomentFormat format;
+    private final ZoneId zoneId;
+    private final Moment target = new Moment();
+    private char[] chars;
+    private byte[] bytes;
+    private CharBuffer charView;
+    private ByteBuffer byteView;
+    private int position, limit;
+    private boolean eof;
+    private long value;
+
+    private MomentReader(Reader reader, ReadableByteChannel channel, char delimiter, int column, MomentFormat format, ZoneId zoneId) {
+        if (column < 0) {
+            throw new IllegalArgumentException("The column must not be negative,The actual value is '" + column + "'.");
+        }
+        this.reader = reader;
+        this.channel = channel;
+        this.delimiter = delimiter;
+        this.column = column;
+        this.format = format;
+        this.zoneId = zoneId;
+        if (reader != null) {
+            this.chars = new char[BUFFER_SIZE];
+            this.charView = CharBuffer.wrap(chars);
+        } else {
+            this.bytes = new byte[BUFFER_SIZE];
+            this.byteView = ByteBuffer.wrap(bytes);
+        }
+    }
+
+    /**
+     * 创建读取字符流的{@link MomentReader}
+     *
+     * @param reader    字符流
+     * @param delimiter 列分隔符
+     * @param column    时间列的下标，从0开始
+     * @param format    时间格式
+     * @param zoneId    时区
+     * @return {@link MomentReader}
+     */
+    public static MomentReader of(Reader reader, char delimiter, int column, MomentFormat format, ZoneId zoneId) {
+        return new MomentReader(reader, null, delimiter, column, format, zoneId);
+    }
+
+    /**
+     * 创建读取字节流的{@link MomentReader}
+     *
+     * @param input     字节流
+     * @param delimiter 列分隔符
+     * @param column    时间列的下标，从0开始
+     * @param format    时间格式
+     * @param zoneId    时区
+     * @return {@link MomentReader}
+     */
+    public static MomentReader of(InputStream input, char delimiter, int column, MomentFormat format, ZoneId zoneId) {
+        return new MomentReader(null, Channels.newChannel(input), delimiter, column, format, zoneId);
+    }
+
+    /**
+     * 创建读取通道的{@link MomentReader}
+     *
+     * @param channel   通道
+     * @param delimiter 列分隔符
+     * @param column    时间列的下标，从0开始
+     * @param format    时间格式
+     * @param zoneId    时区
+     * @return {@link MomentReader}
+     */
+    public static MomentReader of(ReadableByteChannel channel, char delimiter, int column, MomentFormat format, ZoneId zoneId) {
+        return new MomentReader(null, channel, delimiter, column, format, zoneId);
+    }
+
+    /**
+     * 读取下一批时间戳
+     *
+     * @param dst    输出数组
+     * @param offset 写入的起始位置
+     * @param length 最多读取的行数
+     * @return 返回读取的行数，已到达末尾时返回-1
+     * @throws IOException 读取失败时抛出
+     */
+    public int read(long[] dst, int offset, int length) throws IOException {
+        int count = 0;
+        while (count < length && next()) {
+            dst[offset + count++] = value;
+        }
+        return count == 0 && length > 0 ? -1 : count;
+    }
+
+    /**
+     * 读取全部剩余的行，每填满一批调用一次输出对象，最后一批可能不满
+     *
+     * @param sink      输出对象
+     * @param batchSize 每批的行数
+     * @return 返回读取的总行数
+     * @throws IOException 读取失败时抛出
+     */
+    public long readAll(Sink sink, int batchSize) throws IOException {
+        long[] batch = new long[batchSize];
+        long total = 0;
+        for (int count; (count = read(batch, 0, batchSize)) > 0; total += count) {
+            sink.accept(batch, count);
+        }
+        return total;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (reader != null) reader.close();
+        else channel.close();
+    }
+
+    /**
+     * 读取下一个非空行并解析时间列
+     */
+    private boolean next() throws IOException {
+        for (int scanned = position; ; ) {
+            int end = chars != null ? lineEnd(chars, scanned) : lineEnd(bytes, scanned);
+            if (end < 0 && !eof) {
+                // 已扫描的内容在填充后移到缓冲区开头
+                scanned = limit - position;
+                fill();
+                continue;
+            }
+            if (end < 0) {
+                if (position == limit) return false;
+                end = limit;
+            }
+            int start = position;
+            position = end < limit ? end + 1 : end;
+            if (end > start && (chars != null ? chars[end - 1] : bytes[end - 1]) == '\r') end--;
+            if (end == start) {
+                scanned = position;
+                continue;
+            }
+            value = chars != null ? parse(chars, start, end) : parse(bytes, start, end);
+            return true;
+        }
+    }
+
+    private int lineEnd(char[] chars, int from) {
+        for (int i = from; i < limit; i++) {
+            if (chars[i] == '\n') return i;
+        }
+        return -1;
+    }
+
+    private int lineEnd(byte[] bytes, int from) {
+        for (int i = from; i < limit; i++) {
+            if (bytes[i] == '\n') return i;
+        }
+        return -1;
+    }
+
+    private long parse(char[] chars, int start, int end) {
+        int from = start;
+        for (int n = 0; n < column; n++) {
+            while (from < end && chars[from] != delimiter) from++;
+            if (from++ >= end) return INVALID;
+        }
+        int to = from;
+        while (to < end && chars[to] != delimiter) to++;
+        target.setTimestamp(0L);
+        charView.clear();
+        charView.limit(to);
+        long status = format.tryParse(charView, from, target, zoneId);
+        return MomentFormat.isError(status) || MomentFormat.position(status) != to ? INVALID : target.getTimestamp();
+    }
+
+    private long parse(byte[] bytes, int start, int end) {
+        int from = start;
+        for (int n = 0; n < column; n++) {
+            while (from < end && bytes[from] != delimiter) from++;
+            if (from++ >= end) return INVALID;
+        }
+        int to = from;
+        while (to < end && bytes[to] != delimiter) to++;
+        target.setTimestamp(0L);
+        byteView.clear();
+        byteView.limit(to);
+        byteView.position(from);
+        long status = format.tryParse(byteView, target, zoneId);
+        return MomentFormat.isError(status) || MomentFormat.position(status) != to ? INVALID : target.getTimestamp();
+    }
+
+    /**
+     * 将未处理的内容移到缓冲区开头，缓冲区已满时扩容，然后继续读取
+     */
+    private void fill() throws IOException {
+        int remaining = limit - position, capacity = chars != null ? chars.length : bytes.length;
+        if (remaining == capacity) {
+            capacity = Math.multiplyExact(capacity, 2);
+            if (chars != null) {
+                chars = Arrays.copyOf(chars, capacity);
+                charView = CharBuffer.wrap(chars);
+            } else {
+                bytes = Arrays.copyOf(bytes, capacity);
+                byteView = ByteBuffer.wrap(bytes);
+            }
+        } else if (position > 0) {
+            if (chars != null) System.arraycopy(chars, position, chars, 0, remaining);
+            else System.arraycopy(bytes, position, bytes, 0, remaining);
+        }
+        position = 0;
+        limit = remaining;
+        int read;
+        if (chars != null) {
+            read = reader.read(chars, limit, capacity - limit);
+        } else {
+            byteView.clear();
+            byteView.position(limit);
+            read = channel.read(byteView);
+        }
+        if (read < 0) eof = true;
+        else limit += read;
+    }
+
+    /**
+     * 批量输出对象
+     */
+    @FunctionalInterface
+    public interface Sink {
+        /**
+         * 接收一批时间戳
+         *
+         * @param values 时间戳数组，调用返回后会被复用
+         * @param length 本批的个数
+         */
+        void accept(long[] values, int length);
+    }
+}
@@ -0,0 +1,190 @@
+package com.github.zhitron.universal;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * 常用固定布局的SWAR解析器，一次读取8个字节到{@code long}中，用位运算同时校验所有数字和分隔符
+ * <p>
+ * 支持{@code yyyy-MM-dd'T'HH:mm:ss.SSS}（可带{@code 'Z'}后缀）和{@code yyyyMMddHHmmss}两种布局，
+ * 解析结果为本地时间的毫秒数，输入不合法时返回{@link #INVALID}，由调用方回退到通用解析得到具体的错误信息
+ *
+ * @author zhitron
+ */
+final class MomentSwar {
+    static final int NONE = 0, ISO = 1, ISO_Z = 2, NUMERIC = 3;
+    /**
+     * 输入不合法时的返回值，合法的本地时间不会取到该值
+     */
+    static final long INVALID = Long.MIN_VALUE;
+    private static final int[] LENGTHS = {0, 23, 24, 14};
+    private static final long ZEROS = 0x3030303030303030L, SIXES = 0x0606060606060606L, HIGH = 0xF0F0F0F0F0F0F0F0L, THREES = 0x3333333333333333L;
+    /**
+     * ISO布局三个8字节块{@code "0000-00-"}、{@code "00T00:00"}、{@code "0:00.000"}中分隔符的掩码和期望值，块分别从0、8、15开始
+     */
+    private static final long ISO_MASK_0 = mask("0000-00-"), ISO_LITERAL_0 = literal("0000-00-"),
+            ISO_MASK_1 = mask("00T00:00"), ISO_LITERAL_1 = literal("00T00:00"),
+            ISO_MASK_2 = mask("0:00.000"), ISO_LITERAL_2 = literal("0:00.000");
+
+    private MomentSwar() {
+    }
+
+    /**
+     * 判断编译后的格式是否为支持的固定布局
+     *
+     * @param kinds    标记类型
+     * @param literals 原文内容
+     * @return 返回布局，不支持时返回{@link #NONE}
+     */
+    static int layout(int[] kinds, String[] literals) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < kinds.length; i++) {
+            builder.append(kinds[i] == MomentFormat.LITERAL ? literals[i] : "{" + kinds[i] + "}");
+        }
+        switch (builder.toString()) {
+            case "{1}-{2}-{3}T{4}:{5}:{6}.{7}":
+                return ISO;
+            case "{1}-{2}-{3}T{4}:{5}:{6}.{7}Z":
+                return ISO_Z;
+            case "{1}{2}{3}{4}{5}{6}":
+                return NUMERIC;
+            default:
+                return NONE;
+        }
+    }
+
+    /**
+     * 获取布局的固定长度
+     *
+     * @param layout 布局
+     * @return 返回长度
+     */
+    static int length(int layout) {
+        return LENGTHS[layout];
+    }
+
+    /**
+     * 从字符序列的指定位置解析
+     *
+     * @param layout 布局
+     * @param input  字符序列
+     * @param offset 起始位置
+     * @return 返回本地时间的毫秒数，不合法时返回{@link #INVALID}
+     */
+    static long parse(int layout, CharSequence input, int offset) {
+        if (offset < 0 || offset > input.length() - LENGTHS[layout]) return INVALID;
+        if (layout == NUMERIC) return numeric(load(input, offset), load(input, offset + 6));
+        if (layout == ISO_Z && input.charAt(offset + 23) != 'Z') return INVALID;
+        return iso(load(input, offset), load(input, offset + 8), load(input, offset + 15));
+    }
+
+    /**
+     * 从字节数组的指定位置解析
+     *
+     * @param layout 布局
+     * @param input  字节数组
+     * @param offset 起始位置
+     * @return 返回本地时间的毫秒数，不合法时返回{@link #INVALID}
+     */
+    static long parse(int layout, byte[] input, int offset) {
+        if (offset < 0 || offset > input.length - LENGTHS[layout]) return INVALID;
+        if (layout == NUMERIC) return numeric(load(input, offset), load(input, offset + 6));
+        if (layout == ISO_Z && input[offset + 23] != 'Z') return INVALID;
+        return iso(load(input, offset), load(input, offset + 8), load(input, offset + 15));
+    }
+
+    /**
+     * 从缓冲区的指定位置解析，不改变缓冲区的position
+     *
+     * @param layout 布局
+     * @param input  缓冲区
+     * @param offset 起始位置
+     * @return 返回本地时间的毫秒数，不合法时返回{@link #INVALID}
+     */
+    static long parse(int layout, ByteBuffer input, int offset) {
+        if (offset < 0 || offset > input.limit() - LENGTHS[layout]) return INVALID;
+        if (layout == NUMERIC) return numeric(load(input, offset), load(input, offset + 6));
+        if (layout == ISO_Z && input.get(offset + 23) != 'Z') return INVALID;
+        return iso(load(input, offset), load(input, offset + 8), load(input, offset + 15));
+    }
+
+    private static long iso(long c0, long c1, long c2) {
+        long d0 = digits(c0, ISO_MASK_0, ISO_LITERAL_0), d1 = digits(c1, ISO_MASK_1, ISO_LITERAL_1), d2 = digits(c2, ISO_MASK_2, ISO_LITERAL_2);
+        if ((d0 | d1 | d2) < 0) return INVALID;
+        return local(at(d0, 0) * 1000 + at(d0, 1) * 100 + at(d0, 2) * 10 + at(d0, 3), at(d0, 5) * 10 + at(d0, 6),
+                at(d1, 0) * 10 + at(d1, 1), at(d1, 3) * 10 + at(d1, 4), at(d1, 6) * 10 + at(d1, 7),
+                at(d2, 2) * 10 + at(d2, 3), at(d2, 5) * 100 + at(d2, 6) * 10 + at(d2, 7));
+    }
+
+    private static long numeric(long c0, long c1) {
+        long d0 = digits(c0, 0, 0), d1 = digits(c1, 0, 0);
+        if ((d0 | d1) < 0) return INVALID;
+        // 相邻两位合并为一个字节：偶数字节为两位数的值
+        d0 = d0 * 10 + (d0 >>> 8);
+        d1 = d1 * 10 + (d1 >>> 8);
+        return local(pair(d0, 0) * 100 + pair(d0, 2), pair(d0, 4), pair(d0, 6), pair(d1, 2), pair(d1, 4), pair(d1, 6), 0);
+    }
+
+    /**
+     * 校验分隔符和数字，返回每个字节为0-9的数值，不合法时返回-1
+     */
+    private static long digits(long chunk, long mask, long literal) {
+        if ((chunk & mask) != literal) return -1;
+        long value = chunk & ~mask | ZEROS & mask;
+        if (((value & HIGH) | ((value + SIXES) & HIGH) >>> 4) != THREES) return -1;
+        return value - ZEROS;
+    }
+
+    private static int at(long digits, int index) {
+        return (int) (digits >>> (index << 3)) & 0xF;
+    }
+
+    private static int pair(long pairs, int index) {
+        return (int) (pairs >>> (index << 3)) & 0xFF;
+    }
+
+    private static long local(int year, int month, int day, int hour, int minute, int second, int millis) {
+        if (month < 1 || month > 12 || day < 1 || day > Moment.days(year, month) || hour >= 24 || minute >= 60 || second >= 60) {
+            return INVALID;
+        }
+        return Moment.toEpochDay(year, month - 1, day - 1) * Moment.DAY_MS + ((hour * 60 + minute) * 60 + second) * 1000L + millis;
+    }
+
+    /**
+     * 按小端序读取8个字符，第一个字符在最低字节，非单字节字符按0xFF处理
+     */
+    private static long load(CharSequence input, int offset) {
+        long chunk = 0;
+        for (int i = offset + 7; i >= offset; i--) {
+            char c = input.charAt(i);
+            chunk = chunk << 8 | (c > 0xFF ? 0xFF : c);
+        }
+        return chunk;
+    }
+
+    private static long load(byte[] input, int offset) {
+        return (input[offset] & 0xFFL) | (input[offset + 1] & 0xFFL) << 8 | (input[offset + 2] & 0xFFL) << 16 | (input[offset + 3] & 0xFFL) << 24
+                | (input[offset + 4] & 0xFFL) << 32 | (input[offset + 5] & 0xFFL) << 40 | (input[offset + 6] & 0xFFL) << 48 | (input[offset + 7] & 0xFFL) << 56;
+    }
+
+    private static long load(ByteBuffer input, int offset) {
+        long chunk = input.getLong(offset);
+        return input.order() == ByteOrder.LITTLE_ENDIAN ? chunk : Long.reverseBytes(chunk);
+    }
+
+    private static long mask(String template) {
+        long mask = 0;
+        for (int i = 0; i < 8; i++) {
+            if (template.charAt(i) != '0') mask |= 0xFFL << (i << 3);
+        }
+        return mask;
+    }
+
+    private static long literal(String template) {
+        long literal = 0;
+        for (int i = 0; i < 8; i++) {
+            if (template.charAt(i) != '0') literal |= (long) template.charAt(i) << (i << 3);
+        }
+        return literal;
+    }
+}
@@ -0,0 +1,148 @@
+package com.github.zhitron.universal;
+
+import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 批量提取多篇文本中的中文日期，结果与逐篇调用{@link Moment#parseToDate(String)}一致，按输入顺序返回
+ * <p>
+ * 基准时间先固定为不可变的{@link MomentValue}，每个任务从中创建自己的{@link Moment}和扫描器，
+ * 线程之间只共享编译好的正则和输入输出数组，各任务写入结果数组互不重叠的位置
+ *
+ * @author zhitron
+ */
+public final class MomentTextBatch {
+    /**
+     * 每个任务一次处理的文本篇数
+     */
+    private static final int BATCH_SIZE = 16;
+
+    private MomentTextBatch() {
+    }
+
+    /**
+     * 使用{@link ForkJoinPool#commonPool()}批量提取日期
+     *
+     * @param anchor    基准时间
+     * @param documents 文本
+     * @return 返回每篇文本的{@code yyyyMMdd}日期，顺序与输入一致
+     */
+    public static String[][] parseToDate(Moment anchor, Collection<? extends CharSequence> documents) {
+        return parseToDate(anchor, documents, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 使用{@link ForkJoinPool}批量提取日期，二分拆分文本直到每个任务不超过固定的篇数
+     *
+     * @param anchor    基准时间
+     * @param documents 文本
+     * @param pool      线程池
+     * @return 返回每篇文本的{@code yyyyMMdd}日期，顺序与输入一致
+     */
+    public static String[][] parseToDate(Moment anchor, Collection<? extends CharSequence> documents, ForkJoinPool pool) {
+        MomentValue value = MomentValue.of(anchor);
+        CharSequence[] inputs = documents.toArray(new CharSequence[0]);
+        String[][] results = new String[inputs.length][];
+        if (inputs.length <= BATCH_SIZE) {
+            apply(value, inputs, results, 0, inputs.length);
+        } else {
+            pool.invoke(new Task(value, inputs, results, 0, inputs.length));
+        }
+        return results;
+    }
+
+    /**
+     * 使用调用方提供的线程池批量提取日期，各任务按固定篇数依次领取剩余的文本，调用线程也参与处理，等待全部完成后返回
+     *
+     * @param anchor      基准时间
+     * @param documents   文本
+     * @param executor    线程池
+     * @param parallelism 并行任务数
+     * @return 返回每篇文本的{@code yyyyMMdd}日期，顺序与输入一致
+     */
+    public static String[][] parseToDate(Moment anchor, Collection<? extends CharSequence> documents, Executor executor, int parallelism) {
+        MomentValue value = MomentValue.of(anchor);
+        CharSequence[] inputs = documents.toArray(new CharSequence[0]);
+        String[][] results = new String[inputs.length][];
+        int count = Math.max(1, Math.min(parallelism, (inputs.length + BATCH_SIZE - 1) / BATCH_SIZE));
+        AtomicInteger cursor = new AtomicInteger();
+        Runnable worker = () -> {
+            MomentTextScanner scanner = new MomentTextScanner(value.toMoment(), "");
+            for (int from; (from = cursor.getAndAdd(BATCH_SIZE)) < inputs.length; ) {
+                apply(scanner, inputs, results, from, Math.min(from + BATCH_SIZE, inputs.length));
+            }
+        };
+        if (count == 1) {
+            worker.run();
+            return results;
+        }
+        CountDownLatch latch = new CountDownLatch(count - 1);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        for (int i = 0; i < count - 1; i++) {
+            executor.execute(() -> {
+                try {
+                    worker.run();
+                } catch (Throwable e) {
+                    error.compareAndSet(null, e);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        worker.run();
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the date extraction to complete.", e);
+        }
+        Throwable e = error.get();
+        if (e instanceof RuntimeException) throw (RuntimeException) e;
+        if (e instanceof Error) throw (Error) e;
+        return results;
+    }
+
+    private static void apply(MomentValue anchor, CharSequence[] inputs, String[][] results, int from, int to) {
+        apply(new MomentTextScanner(anchor.toMoment(), ""), inputs, results, from, to);
+    }
+
+    private static void apply(MomentTextScanner scanner, CharSequence[] inputs, String[][] results, int from, int to) {
+        for (int i = from; i < to; i++) {
+            results[i] = scanner.reset(inputs[i]).dates();
+        }
+    }
+
+    /**
+     * 二分拆分文本的并行任务
+     */
+    private static final class Task extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final MomentValue anchor;
+        private final CharSequence[] inputs;
+        private final String[][] results;
+        private final int from, to;
+
+        private Task(MomentValue anchor, CharSequence[] inputs, String[][] results, int from, int to) {
+            this.anchor = anchor;
+            this.inputs = inputs;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BATCH_SIZE) {
+                apply(anchor, inputs, results, from, to);
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Task(anchor, inputs, results, from, middle), new Task(anchor, inputs, results, middle, to));
+            }
+        }
+    }
+}
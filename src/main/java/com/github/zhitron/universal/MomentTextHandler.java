@@ -0,0 +1,26 @@
+package com.github.zhitron.universal;
+
+/**
+ * 文本日期提取结果的接收者，见{@link Moment#parseToDate(CharSequence, MomentTextHandler)}
+ *
+ * @author zhitron
+ */
+@FunctionalInterface
+public interface MomentTextHandler {
+    /**
+     * 匹配类别：完整的年月日、{@code yyyyMMdd}数字、季度、相对的中文期间（如“上月末”、“去年”）、只有年
+     */
+    int FULL_DATE = 0, NUMERIC = 1, QUARTER = 2, RELATIVE = 3, YEAR = 4;
+
+    /**
+     * 接收一个匹配
+     *
+     * @param kind      匹配类别
+     * @param start     匹配在文本中的起始位置
+     * @param end       匹配在文本中的结束位置（不包含）
+     * @param timestamp 解析得到的时间戳
+     * @param date      解析得到的{@code yyyyMMdd}日期数字
+     * @return 继续扫描返回{@code true}，停止扫描返回{@code false}
+     */
+    boolean accept(int kind, int start, int end, long timestamp, int date);
+}
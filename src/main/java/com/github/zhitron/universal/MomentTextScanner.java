@@ -0,0 +1,681 @@
+package com.github.zhitron.universal;
+
+import java.util.Arrays;
+
+/**
+ * 中文自由文本的日期提取，规则与原先按“年月日”、“yyyyMMdd”、“季度”、“中国日期”、“只有年”依次执行五遍正则的方式一致：
+ * 每一级只在前面各级匹配之间剩下的文本片段中查找，同一位置按正则的回溯顺序取第一个成功的匹配
+ * <p>
+ * 各级的匹配由手写的分词器完成，不再使用正则：每一级只有一个单调前进的游标，同一位置最多尝试一次，
+ * 不可能作为该级开头的字符直接跳过；匹配结果按在文本中的位置依次输出，整个过程不复制字符串和日期对象，
+ * 也不保存已输出的结果，额外内存与文本长度无关
+ *
+ * @author zhitron
+ */
+final class MomentTextScanner {
+    static final int DATE_STR = MomentTextHandler.FULL_DATE, DATE_NUM = MomentTextHandler.NUMERIC, DATE_QUARTER = MomentTextHandler.QUARTER,
+            DATE_FOR_CHINA = MomentTextHandler.RELATIVE, YEAR = MomentTextHandler.YEAR;
+    private static final int STAGES = 5;
+    /**
+     * 年份之后接着匹配的内容：结束、“月日”、“季度”
+     */
+    private static final int END = 0, MONTH = 1, QUARTER = 2;
+    /**
+     * 季度和中国日期的解析结果缓存，按级别、基准日期和匹配文本直接映射到固定的槽位，冲突时覆盖旧的结果；
+     * 条目的字段都是final，线程之间不加锁读写是安全的，最坏情况只是重新计算
+     */
+    private static final Resolved[] RESOLVED = new Resolved[1024];
+
+    private final Moment anchor;
+    private final int anchorYear, anchorMonth, anchorDay;
+    private CharSequence input;
+    private final Moment date = new Moment();
+    /**
+     * 每一级当前片段的结束位置、已经查找到的位置，以及找到但还没有输出的匹配，没有时起始位置为-1
+     */
+    private final int[] bound = new int[STAGES], cursor = new int[STAGES], start = new int[STAGES], end = new int[STAGES];
+    /**
+     * 每一级找到的匹配中年、月、日或年、季度的起止位置
+     */
+    private final int[][] groups = new int[STAGES][6];
+    /**
+     * 当前匹配的片段结束位置，以及正在匹配的各部分的起止位置
+     */
+    private int limit, yStart, yEnd, mStart, mEnd, dStart, dEnd, qStart;
+    private boolean stopped;
+
+    MomentTextScanner(Moment anchor, CharSequence input) {
+        this.anchor = anchor.update();
+        this.anchorYear = anchor.getYearAsNum();
+        this.anchorMonth = anchor.getMonthAsNum();
+        this.anchorDay = anchor.getDayAsNum();
+        reset(input);
+    }
+
+    /**
+     * 改为扫描另一段文本，基准时间保持不变
+     *
+     * @param input 文本
+     * @return 返回this
+     */
+    MomentTextScanner reset(CharSequence input) {
+        this.input = input;
+        this.stopped = false;
+        return this;
+    }
+
+    /**
+     * 提取文本中的全部日期
+     *
+     * @return 返回{@code yyyyMMdd}格式的日期字符串
+     */
+    String[] dates() {
+        int[][] dates = {new int[8]};
+        int[] size = {0};
+        scan((kind, start, end, timestamp, date) -> {
+            if (size[0] == dates[0].length) dates[0] = Arrays.copyOf(dates[0], size[0] * 2);
+            dates[0][size[0]++] = date;
+            return true;
+        });
+        String[] result = new String[size[0]];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = String.valueOf(dates[0][i]);
+        }
+        return result;
+    }
+
+    /**
+     * 从左到右扫描文本，按位置依次输出匹配结果，接收者返回{@code false}时停止
+     * <p>
+     * 第0级的片段是整段文本，第{@code k}级的片段从上一次输出的位置到第{@code k-1}级下一个匹配的起始位置为止；
+     * 每次输出的是找到匹配的最后一级，它的匹配在前面各级的匹配之前，前面各级已经找到的匹配仍然有效
+     *
+     * @param handler 匹配结果的接收者
+     */
+    void scan(MomentTextHandler handler) {
+        int length = input.length(), position = 0;
+        Arrays.fill(bound, -1);
+        while (!stopped) {
+            int to = length, stage = -1;
+            for (int k = 0; k < STAGES; k++) {
+                if (bound[k] != to) {
+                    // 前一级的片段变了，这一级从上一次输出的位置开始新的片段
+                    bound[k] = to;
+                    cursor[k] = position;
+                    start[k] = -1;
+                }
+                if (start[k] < 0) find(k, Math.max(cursor[k], position), to);
+                if (start[k] >= 0) {
+                    to = start[k];
+                    stage = k;
+                }
+            }
+            if (stage < 0) return;
+            int from = start[stage];
+            position = end[stage];
+            start[stage] = -1;
+            cursor[stage] = position;
+            date.copyFrom(anchor);
+            if (stage == DATE_QUARTER || stage == DATE_FOR_CHINA) {
+                resolve(stage, from, position);
+            } else {
+                handle(stage, from, position);
+            }
+            if (!handler.accept(stage, from, position, date.getTimestamp(), date.getDateAsNum())) {
+                stopped = true;
+            }
+        }
+    }
+
+    /**
+     * 在片段{@code [from, to)}中查找该级最左边的匹配，记录匹配和查找到的位置
+     */
+    private void find(int stage, int from, int to) {
+        limit = to;
+        for (int i = from; i < to; i++) {
+            if (!starts(stage, input.charAt(i))) continue;
+            int e = match(stage, i);
+            if (e >= 0) {
+                start[stage] = i;
+                end[stage] = e;
+                int[] group = groups[stage];
+                group[0] = yStart;
+                group[1] = yEnd;
+                group[2] = stage == DATE_QUARTER ? qStart : mStart;
+                group[3] = stage == DATE_QUARTER ? e : mEnd;
+                group[4] = dStart;
+                group[5] = dEnd;
+                cursor[stage] = i;
+                return;
+            }
+        }
+        cursor[stage] = to;
+    }
+
+    /**
+     * 判断字符是否可能是该级匹配的第一个字符
+     */
+    private static boolean starts(int stage, char c) {
+        boolean digit = c >= '0' && c <= '9', open = c == '[' || c == '(' || c == '"' || c == '\'';
+        switch (stage) {
+            case DATE_NUM:
+                return c >= '1' && c <= '9';
+            case DATE_QUARTER:
+                return digit || open || space(c) || c == '第' || c == '上' || c == '下' || c == '本' || c == '季' || c == 'Q';
+            case DATE_FOR_CHINA:
+                return digit || c == '本' || c == '上' || c == '去' || c == '下' || c == '明' || period(c);
+            default:
+                return digit || open;
+        }
+    }
+
+    /**
+     * 尝试从指定位置开始匹配，成功时返回匹配的结束位置，否则返回-1
+     */
+    private int match(int stage, int i) {
+        switch (stage) {
+            case DATE_STR:
+                //[\[("']?((\d\s*?){2}){1,2}[])"']?[ 年\\/-]?\s*(\d\s*?){1,2}[ 月\\/-]\s*(\d\s*?){1,2}('T'|[ 日\\/T-])\s*?
+                return year(i, MONTH);
+            case DATE_NUM:
+                //[1-9]\d{3}((0[13578]|10|12)31|(0[0-13-9]|1[012])30|(0\d|1[012])[012]\d)
+                return number(i);
+            case DATE_QUARTER:
+                //(年份)?((第\s*?[1234一二三四]|[上下本])?\s*?季度[初末]?|Q\s*?[1-4]\s*?(季度)?[初末]?)
+                int e = year(i, QUARTER);
+                if (e >= 0) return e;
+                yStart = yEnd = -1;
+                return quarter(i);
+            case DATE_FOR_CHINA:
+                //(((\d\s*?){2}){1,2}年|(本|[上去]{1,2}|[下明]{1,2}))?(年?[年期月]|期期|月月)[初末]?
+                return relative(i);
+            default:
+                //[\[("']?((\d\s*?){2}){1,2}[])"']?[ 年\\/-]?\s*
+                return year(i, END);
+        }
+    }
+
+    /**
+     * 匹配年份，即开头可选的括号或引号、2位或4位数字，之后可选的括号或引号、分隔符和空白，然后匹配{@code next}指定的内容
+     */
+    private int year(int i, int next) {
+        yStart = i;
+        char c = at(i);
+        if (c == '[' || c == '(' || c == '"' || c == '\'') {
+            int e = yearDigit(i + 1, 0, next);
+            if (e >= 0) return e;
+        }
+        return yearDigit(i, 0, next);
+    }
+
+    /**
+     * 匹配年份的第{@code n}个数字和之后尽量少的空白，两位数字之后先尝试再匹配两位数字
+     */
+    private int yearDigit(int i, int n, int next) {
+        if (!digit(i)) return -1;
+        for (int j = i + 1; ; j++) {
+            int e;
+            if (n == 1) {
+                e = yearDigit(j, 2, next);
+                if (e < 0) e = yearTail(j, next);
+            } else if (n == 3) {
+                e = yearTail(j, next);
+            } else {
+                e = yearDigit(j, n + 1, next);
+            }
+            if (e >= 0) return e;
+            if (!space(at(j))) return -1;
+        }
+    }
+
+    private int yearTail(int i, int next) {
+        char c = at(i);
+        if (c == ']' || c == ')' || c == '"' || c == '\'') {
+            int e = yearSeparator(i + 1, next);
+            if (e >= 0) return e;
+        }
+        return yearSeparator(i, next);
+    }
+
+    private int yearSeparator(int i, int next) {
+        char c = at(i);
+        if (c == ' ' || c == '年' || c == '\\' || c == '/' || c == '-') {
+            int e = yearSpace(i + 1, next);
+            if (e >= 0) return e;
+        }
+        return yearSpace(i, next);
+    }
+
+    /**
+     * 年份末尾尽量多的空白，之后的内容匹配失败时逐个退回
+     */
+    private int yearSpace(int i, int next) {
+        int j = i;
+        while (space(at(j))) j++;
+        for (; j >= i; j--) {
+            yEnd = j;
+            int e = next == MONTH ? month(j) : next == QUARTER ? quarter(j) : j;
+            if (e >= 0) return e;
+        }
+        return -1;
+    }
+
+    /**
+     * 匹配月份，即1到2位数字、分隔符和尽量多的空白，然后匹配日
+     */
+    private int month(int i) {
+        mStart = i;
+        return monthDigit(i, 0);
+    }
+
+    private int monthDigit(int i, int n) {
+        if (!digit(i)) return -1;
+        for (int j = i + 1; ; j++) {
+            int e = n == 0 ? monthDigit(j, 1) : -1;
+            if (e < 0) e = monthSeparator(j);
+            if (e >= 0) return e;
+            if (!space(at(j))) return -1;
+        }
+    }
+
+    private int monthSeparator(int i) {
+        char c = at(i);
+        if (c != ' ' && c != '月' && c != '\\' && c != '/' && c != '-') return -1;
+        int j = i + 1;
+        while (space(at(j))) j++;
+        for (; j > i; j--) {
+            mEnd = j;
+            int e = day(j);
+            if (e >= 0) return e;
+        }
+        return -1;
+    }
+
+    /**
+     * 匹配日，即1到2位数字和分隔符
+     */
+    private int day(int i) {
+        dStart = i;
+        return dayDigit(i, 0);
+    }
+
+    private int dayDigit(int i, int n) {
+        if (!digit(i)) return -1;
+        for (int j = i + 1; ; j++) {
+            int e = n == 0 ? dayDigit(j, 1) : -1;
+            if (e < 0) e = daySeparator(j);
+            if (e >= 0) return e;
+            if (!space(at(j))) return -1;
+        }
+    }
+
+    private int daySeparator(int i) {
+        char c = at(i);
+        if (c == '\'' && at(i + 1) == 'T' && at(i + 2) == '\'') {
+            return dEnd = i + 3;
+        }
+        if (c == ' ' || c == '日' || c == '\\' || c == '/' || c == 'T' || c == '-') {
+            return dEnd = i + 1;
+        }
+        return -1;
+    }
+
+    /**
+     * 匹配季度，即“第N季度”、“上季度”、“季度”或“QN”，都可以带“初”或“末”
+     */
+    private int quarter(int i) {
+        qStart = i;
+        char c = at(i);
+        int e = -1;
+        if (c == '第') {
+            for (int j = i + 1; e < 0; j++) {
+                if ("1234一二三四".indexOf(at(j)) >= 0) e = season(j + 1);
+                if (e < 0 && !space(at(j))) break;
+            }
+        } else if (c == '上' || c == '下' || c == '本') {
+            e = season(i + 1);
+        }
+        if (e < 0) e = season(i);
+        if (e < 0 && c == 'Q') {
+            for (int j = i + 1; ; j++) {
+                char d = at(j);
+                if (d >= '1' && d <= '4') {
+                    e = j + 1;
+                    if (at(e) == '季' && at(e + 1) == '度') e += 2;
+                    if (at(e) == '初' || at(e) == '末') e++;
+                    break;
+                }
+                if (!space(at(j))) break;
+            }
+        }
+        return e;
+    }
+
+    private int season(int i) {
+        for (int j = i; ; j++) {
+            if (at(j) == '季' && at(j + 1) == '度') {
+                return at(j + 2) == '初' || at(j + 2) == '末' ? j + 3 : j + 2;
+            }
+            if (!space(at(j))) return -1;
+        }
+    }
+
+    /**
+     * 匹配中国日期，即可选的“N年”、“本”、“上”、“下”等前缀，之后是“年”、“期”或“月”，可以带“初”或“末”
+     */
+    private int relative(int i) {
+        char c = at(i);
+        int e = -1;
+        if (digit(i)) {
+            e = relativeDigit(i, 0);
+        } else if (c == '本') {
+            e = period(i + 1);
+        } else if (c == '上' || c == '去') {
+            if (at(i + 1) == '上' || at(i + 1) == '去') e = period(i + 2);
+            if (e < 0) e = period(i + 1);
+        } else if (c == '下' || c == '明') {
+            if (at(i + 1) == '下' || at(i + 1) == '明') e = period(i + 2);
+            if (e < 0) e = period(i + 1);
+        }
+        return e >= 0 ? e : period(i);
+    }
+
+    private int relativeDigit(int i, int n) {
+        if (!digit(i)) return -1;
+        for (int j = i + 1; ; j++) {
+            int e;
+            if (n == 1) {
+                e = relativeDigit(j, 2);
+                if (e < 0 && at(j) == '年') e = period(j + 1);
+            } else if (n == 3) {
+                e = at(j) == '年' ? period(j + 1) : -1;
+            } else {
+                e = relativeDigit(j, n + 1);
+            }
+            if (e >= 0) return e;
+            if (!space(at(j))) return -1;
+        }
+    }
+
+    private int period(int i) {
+        char c = at(i);
+        int e;
+        if (c == '年' && period(at(i + 1))) {
+            e = i + 2;
+        } else if (period(c)) {
+            e = i + 1;
+        } else {
+            return -1;
+        }
+        return at(e) == '初' || at(e) == '末' ? e + 1 : e;
+    }
+
+    /**
+     * 匹配“yyyyMMdd”，月份为00到12，日与月份对应
+     */
+    private int number(int i) {
+        if (i + 8 > limit || at(i) < '1' || at(i) > '9') return -1;
+        for (int j = i + 1; j < i + 8; j++) {
+            if (!digit(j)) return -1;
+        }
+        char m1 = at(i + 4), m2 = at(i + 5), d1 = at(i + 6), d2 = at(i + 7);
+        boolean month = m1 == '0' || m1 == '1' && m2 <= '2';
+        if (d1 == '3' && d2 == '1') {
+            return m1 == '0' && "13578".indexOf(m2) >= 0 || m1 == '1' && m2 != '1' && m2 <= '2' ? i + 8 : -1;
+        }
+        if (d1 == '3' && d2 == '0') {
+            return month && (m1 != '0' || m2 != '2') ? i + 8 : -1;
+        }
+        return month && d1 <= '2' ? i + 8 : -1;
+    }
+
+    /**
+     * 获取片段内的字符，超出片段时返回{@code '\0'}，它不属于任何字符类别
+     */
+    private char at(int i) {
+        return i < limit ? input.charAt(i) : '\0';
+    }
+
+    private boolean digit(int i) {
+        char c = at(i);
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean space(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static boolean period(char c) {
+        return c == '年' || c == '期' || c == '月';
+    }
+
+    /**
+     * 季度和中国日期只改变年月日，结果只取决于基准日期和匹配文本，命中缓存时直接设置年月日
+     */
+    private void resolve(int stage, int start, int end) {
+        int hash = ((stage * 31 + anchorYear) * 31 + anchorMonth) * 31 + anchorDay;
+        for (int i = start; i < end; i++) {
+            hash = hash * 31 + input.charAt(i);
+        }
+        int slot = (hash ^ hash >>> 16) & (RESOLVED.length - 1);
+        Resolved entry = RESOLVED[slot];
+        date.resolve();
+        if (entry != null && entry.matches(this, stage, start, end)) {
+            date.year = entry.year;
+            date.month = entry.month;
+            date.day = entry.day;
+            date.update = true;
+            return;
+        }
+        handle(stage, start, end);
+        date.resolve();
+        RESOLVED[slot] = new Resolved(this, stage, input.subSequence(start, end).toString());
+    }
+
+    private void handle(int stage, int start, int end) {
+        int[] group = groups[stage];
+        switch (stage) {
+            case DATE_STR:
+                //处理“年月日”格式
+                date.setYear(parseYear(group[0], group[1]));
+                date.setMonthIfCorrect(digits(group[2], group[3]));
+                date.setDayIfCorrect(digits(group[4], group[5]));
+                break;
+            case DATE_NUM:
+                //处理“yyyyMMdd”格式
+                date.setDate(digits(start, end));
+                break;
+            case DATE_QUARTER:
+                //处理“季度”格式
+                if (group[0] >= 0) {
+                    date.setYear(parseYear(group[0], group[1]));
+                }
+                parseQuarter(group[2], group[3], date);
+                break;
+            case DATE_FOR_CHINA:
+                //处理“中国日期”格式
+                china(start, end, date);
+                break;
+            default:
+                //处理“只有年”格式
+                date.setYear(parseYear(start, end));
+                break;
+        }
+    }
+
+    private void parseQuarter(int start, int end, Moment date) {
+        char first = input.charAt(start), last = input.charAt(end - 1);
+        if (first == '第' || first == 'Q') {
+            date.setDay(1);
+            switch (input.charAt(start + 1)) {
+                case '1':
+                case '一':
+                    date.setMonth(1);
+                    break;
+                case '2':
+                case '二':
+                    date.setMonth(4);
+                    break;
+                case '3':
+                case '三':
+                    date.setMonth(7);
+                    break;
+                default:
+                    date.setMonth(10);
+                    break;
+            }
+            if (end - start < 3 || last != '初') {
+                date.addMonth(3);
+                date.addDay(-1);
+            }
+        } else {
+            int q = anchor.getQuarter();
+            date.setMonth((q - 1) * 3 + 1);
+            date.setDay(1);
+            if (end - start < 2 || last != '初') {
+                date.addMonth(3);
+                date.addDay(-1);
+            }
+            date.addMonth(first == '下' ? 3 : (first == '上' ? -3 : 0));
+        }
+    }
+
+    private void china(int start, int end, Moment date) {
+        int len = end - start;
+        Boolean flag = null;
+        int last = "初末".indexOf(input.charAt(end - 1)) >= 0 ? 2 : 1;
+        char unit = input.charAt(end - last);
+        if (unit == '月') {
+            flag = false;
+            if (last == 1 || input.charAt(end - 1) != '初') {
+                date.setMonthEnd(0);
+            } else {
+                date.setMonthStart(0);
+            }
+        } else if (unit == '年') {
+            flag = true;
+            if (last == 1 || input.charAt(end - 1) != '初') {
+                date.setYearEnd();
+            } else {
+                date.setYearStart();
+            }
+        } else {
+            if (last == 1 || input.charAt(end - 1) != '初') {
+                date.setQuarterEnd(0);
+            } else {
+                date.setQuarterStart(0);
+            }
+        }
+        if ((len -= last) > 0) {
+            int i = 0, c = 0;
+            if (Character.isDigit(input.charAt(start))) {
+                int year = Character.digit(input.charAt(start), 10);
+                for (i++; i < len && Character.isDigit(input.charAt(start + i)); i++) {
+                    year = 10 * year + Character.digit(input.charAt(start + i), 10);
+                }
+                if (i == 2) {
+                    year = date.getYearAsNum() / 100 * 100 + year;
+                }
+                date.setYear(year);
+                return;
+            }
+            if ("上去".indexOf(input.charAt(start + i)) >= 0) {
+                c--;
+                if (++i < len && "上去".indexOf(input.charAt(start + i)) >= 0) {
+                    c--;
+                    i++;
+                }
+            } else if ("下明".indexOf(input.charAt(start + i)) >= 0) {
+                c++;
+                if (++i < len && "下明".indexOf(input.charAt(start + i)) >= 0) {
+                    c++;
+                    i++;
+                }
+            } else {
+                i++;
+            }
+            if (c != 0) {
+                if (i == len) {
+                    if (flag == null || flag) {
+                        date.addYear(i * c);
+                    } else {
+                        date.addMonth(i * c);
+                    }
+                } else {
+                    switch (input.charAt(start + i)) {
+                        case '期':
+                        case '年':
+                            date.addYear(i * c);
+                            break;
+                        case '月':
+                            date.addMonth(i * c);
+                            break;
+                        default:
+                            break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 解析年份，只有两位数字时补上基准时间的世纪
+     */
+    private int parseYear(int start, int end) {
+        int count = 0, value = 0;
+        for (int i = start; i < end; i++) {
+            char c = input.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                count++;
+            }
+        }
+        if (count == 2) {
+            int year = anchor.getYearAsNum();
+            value = year / 100 * 100 + (year < 0 ? -value : value);
+        }
+        return value;
+    }
+
+    /**
+     * 忽略非数字字符解析整数
+     */
+    private int digits(int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = input.charAt(i);
+            if (c >= '0' && c <= '9') value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * 缓存的解析结果，年月日为{@link Moment}内部的字段值
+     */
+    private static final class Resolved {
+        final int stage, anchorYear, anchorMonth, anchorDay, year, month, day;
+        final String text;
+
+        Resolved(MomentTextScanner scanner, int stage, String text) {
+            this.stage = stage;
+            this.anchorYear = scanner.anchorYear;
+            this.anchorMonth = scanner.anchorMonth;
+            this.anchorDay = scanner.anchorDay;
+            this.year = scanner.date.year;
+            this.month = scanner.date.month;
+            this.day = scanner.date.day;
+            this.text = text;
+        }
+
+        boolean matches(MomentTextScanner scanner, int stage, int start, int end) {
+            if (this.stage != stage || anchorYear != scanner.anchorYear || anchorMonth != scanner.anchorMonth
+                    || anchorDay != scanner.anchorDay || text.length() != end - start) {
+                return false;
+            }
+            for (int i = start; i < end; i++) {
+                if (text.charAt(i - start) != scanner.input.charAt(i)) return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,379 @@
+package com.github.zhitron.universal;
+
+/**
+ * 不可变时间对象，字段模型与{@link Moment}一致，所有字段均为final，可在线程间直接共享
+ *
+ * @author zhitron
+ */
+public final class MomentValue implements Comparable<MomentValue> {
+    final long timestamp;
+    final int year, month, day, hour, minute, second, millis, micros, nanos;
+
+    private MomentValue(Moment moment) {
+        this.timestamp = moment.resolve().getTimestamp();
+        this.year = moment.year;
+        this.month = moment.month;
+        this.day = moment.day;
+        this.hour = moment.hour;
+        this.minute = moment.minute;
+        this.second = moment.second;
+        this.millis = moment.millis;
+        this.micros = moment.micros;
+        this.nanos = moment.nanos;
+    }
+
+    /**
+     * 创建当前时间{@link MomentValue}
+     *
+     * @return {@link MomentValue}
+     */
+    public static MomentValue now() {
+        return new MomentValue(Moment.now());
+    }
+
+    /**
+     * 创建{@link MomentValue}
+     *
+     * @param input 时间戳
+     * @return {@link MomentValue}
+     */
+    public static MomentValue of(long input) {
+        return new MomentValue(Moment.of(input));
+    }
+
+    /**
+     * 创建{@link MomentValue}
+     *
+     * @param input 可变时间对象，会复制当前的字段值
+     * @return {@link MomentValue}
+     */
+    public static MomentValue of(Moment input) {
+        return new MomentValue(input);
+    }
+
+    /**
+     * 转成可变的{@link Moment}，返回的对象与当前对象互不影响
+     *
+     * @return {@link Moment}
+     */
+    public Moment toMoment() {
+        return Moment.of(this);
+    }
+
+    /**
+     * 获取时间戳
+     *
+     * @return 返回时间戳
+     */
+    public long getTimestamp() {
+        return this.timestamp;
+    }
+
+    /**
+     * 获取{@code yyyyMMdd}时间数字如20250416
+     *
+     * @return 获取值
+     */
+    public int getDateAsNum() {
+        return getYearAsNum() * 10000 + getMonthAsNum() * 100 + getDayAsNum();
+    }
+
+    /**
+     * 获取{@code HHmmss}时间数字如132647
+     *
+     * @return 获取值
+     */
+    public int getTimeAsNum() {
+        return getHourAsNum() * 10000 + getMinuteAsNum() * 100 + getSecondAsNum();
+    }
+
+    /**
+     * 获取{@code yyyyMMddHHmmss}时间数字如20250416132647
+     *
+     * @return 获取值
+     */
+    public long getDateTimeAsNum() {
+        return getDateAsNum() * 1000000L + getTimeAsNum();
+    }
+
+    /**
+     * 获取{@code int}类型的年属性域
+     *
+     * @return 返回{@code int}类型的年属性域
+     */
+    public int getYearAsNum() {
+        return this.year;
+    }
+
+    /**
+     * 获取{@code int}类型的月属性域
+     *
+     * @return 返回{@code int}类型的月属性域
+     */
+    public int getMonthAsNum() {
+        return this.month + 1;
+    }
+
+    /**
+     * 获取{@code int}类型的日属性域
+     *
+     * @return 返回{@code int}类型的日属性域
+     */
+    public int getDayAsNum() {
+        return this.day + 1;
+    }
+
+    /**
+     * 获取{@code int}类型的时属性域
+     *
+     * @return 返回{@code int}类型的时属性域
+     */
+    public int getHourAsNum() {
+        return this.hour;
+    }
+
+    /**
+     * 获取{@code int}类型的分属性域
+     *
+     * @return 返回{@code int}类型的分属性域
+     */
+    public int getMinuteAsNum() {
+        return this.minute;
+    }
+
+    /**
+     * 获取{@code int}类型的秒属性域
+     *
+     * @return 返回{@code int}类型的秒属性域
+     */
+    public int getSecondAsNum() {
+        return this.second;
+    }
+
+    /**
+     * 获取{@code int}类型的毫秒属性域
+     *
+     * @return 返回{@code int}类型的毫秒属性域
+     */
+    public int getMillisAsNum() {
+        return this.millis;
+    }
+
+    /**
+     * 获取{@code int}类型的微秒属性域
+     *
+     * @return 返回{@code int}类型的微秒属性域
+     */
+    public int getMicrosAsNum() {
+        return this.micros;
+    }
+
+    /**
+     * 获取{@code int}类型的纳秒属性域
+     *
+     * @return 返回{@code int}类型的纳秒属性域
+     */
+    public int getNanosAsNum() {
+        return this.nanos;
+    }
+
+    /**
+     * 获取季度1-4
+     *
+     * @return 返回季度1-4
+     */
+    public int getQuarter() {
+        return (getMonthAsNum() + 2) / 3;
+    }
+
+    /**
+     * 返回设置年后的新对象，规则同{@link Moment#setYear(int)}
+     *
+     * @param value 年
+     * @return 新的{@link MomentValue}
+     */
+    public MomentValue withYear(int value) {
+        return new MomentValue(toMoment().setYear(value));
+    }
+
+    /**
+     * 返回设置月后的新对象，规则同{@link Moment#setMonth(int)}
+     *
+     * @param value 月1-12
+     * @return 新的{@link MomentValue}
+     */
+    public MomentValue withMonth(int value) {
+        return new MomentValue(toMoment().setMonth(value));
+    }
+
+    /**
+     * 返回设置天后的新对象，规则同{@link Moment#setDay(int)}
+     *
+     * @param value 日1-31
+     * @return 新的{@link MomentValue}
+     */
+    public MomentValue withDay(int value) {
+        return new MomentValue(toMoment().setDay(value));
+    }
+
+    /**
+     * 返回设置小时后的新对象，规则同{@link Moment#setHour(int)}
+     *
+     * @param value 小时0-23
+     * @return 新的{@link MomentValue}
+     */
+    public MomentValue withHour(int value) {
+        return new MomentValue(toMoment().setHour(value));
+    }
+
+    /**
+     * 返回设置分钟后的新对象，规则同{@link Moment#setMinute(int)}
+     *
+     * @param value 分钟0-59
+     * @return 新的{@link MomentValue}
+     */
+    public MomentValue withMinute(int value) {
+        return new MomentValue(toMoment().setMinute(value));
+    }
+
+    /**
+     * 返回设置秒后的新对象，规则同{@link Moment#setSecond(int)}
+     *
+     * @param value 秒0-59
+     * @return 新的{@link MomentValue}
+     */
+    public MomentValue withSecond(int value) {
+        return new MomentValue(toMoment().setSecond(value));
+    }
+
+    /**
+     * 返回设置毫秒后的新对象，规则同{@link Moment#setMillis(int)}
+     *
+     * @param value 毫秒0-999
+     * @return 新的{@link MomentValue}
+     */
+    public MomentValue withMillis(int value) {
+        return new MomentValue(toMoment().setMillis(value));
+    }
+
+    /**
+     * 返回设置微秒后的新对象，规则同{@link Moment#setMicros(int)}
+     *
+     * @param value 微秒0-999
+     * @return 新的{@link MomentValue}
+     */
+    public MomentValue withMicros(int value) {
+        return new MomentValue(toMoment().setMicros(value));
+    }
+
+    /**
+     * 返回设置纳秒后的新对象，规则同{@link Moment#setNanos(int)}
+     *
+     * @param value 纳秒0-999
+     * @return 新的{@link MomentValue}
+     */
+    public MomentValue withNanos(int value) {
+        return new MomentValue(toMoment().setNanos(value));
+    }
+
+    /**
+     * 返回增加年后的新对象，规则同{@link Moment#addYear(long)}
+     *
+     * @param value 增加的时间数值
+     * @return 新的{@link MomentValue}
+     */
+    public MomentValue plusYears(long value) {
+        return value == 0 ? this : new MomentValue(toMoment().addYear(value));
+    }
+
+    /**
+     * 返回增加月后的新对象，规则同{@link Moment#addMonth(long)}
+     *
+     * @param value 增加的时间数值
+     * @return 新的{@link MomentValue}
+     */
+    public MomentValue plusMonths(long value) {
+        return value == 0 ? this : new MomentValue(toMoment().addMonth(value));
+    }
+
+    /**
+     * 返回增加天后的新对象，规则同{@link Moment#addDay(long)}
+     *
+     * @param value 增加的时间数值
+     * @return 新的{@link MomentValue}
+     */
+    public MomentValue plusDays(long value) {
+        return value == 0 ? this : new MomentValue(toMoment().addDay(value));
+    }
+
+    /**
+     * 返回增加小时后的新对象，规则同{@link Moment#addHour(long)}
+     *
+     * @param value 增加的时间数值
+     * @return 新的{@link MomentValue}
+     */
+    public MomentValue plusHours(long value) {
+        return value == 0 ? this : new MomentValue(toMoment().addHour(value));
+    }
+
+    /**
+     * 返回增加分钟后的新对象，规则同{@link Moment#addMinute(long)}
+     *
+     * @param value 增加的时间数值
+     * @return 新的{@link MomentValue}
+     */
+    public MomentValue plusMinutes(long value) {
+        return value == 0 ? this : new MomentValue(toMoment().addMinute(value));
+    }
+
+    /**
+     * 返回增加秒后的新对象，规则同{@link Moment#addSecond(long)}
+     *
+     * @param value 增加的时间数值
+     * @return 新的{@link MomentValue}
+     */
+    public MomentValue plusSeconds(long value) {
+        return value == 0 ? this : new MomentValue(toMoment().addSecond(value));
+    }
+
+    /**
+     * 返回增加毫秒后的新对象，规则同{@link Moment#addMillis(long)}
+     *
+     * @param value 增加的时间数值
+     * @return 新的{@link MomentValue}
+     */
+    public MomentValue plusMillis(long value) {
+        return value == 0 ? this : new MomentValue(toMoment().addMillis(value));
+    }
+
+    /**
+     * 比较{@link MomentValue}大小，先比较时间戳，再比较微秒和纳秒
+     *
+     * @return 负整数、零或正整数，因为此对象小于、等于或大于指定对象。
+     */
+    @Override
+    public int compareTo(MomentValue o) {
+        int result = Long.compare(this.timestamp, o.timestamp);
+        if (result == 0) result = Integer.compare(this.micros, o.micros);
+        if (result == 0) result = Integer.compare(this.nanos, o.nanos);
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof MomentValue)) return false;
+        MomentValue that = (MomentValue) o;
+        return timestamp == that.timestamp && micros == that.micros && nanos == that.nanos;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Long.hashCode(timestamp) + micros) + nanos;
+    }
+
+    @Override
+    public String toString() {
+        return toMoment().toString();
+    }
+}
@@ -0,0 +1,204 @@
+package com.github.zhitron.universal;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 时区偏移的解析器，把{@link ZoneRules}的历史变更和到{@value #LIMIT_YEAR}年为止按规则生成的变更预先展开成有序数组，
+ * 按时间戳或本地时间二分查找偏移，并记住上次命中的区间，相邻的查找通常只需几次数组读取
+ * <p>
+ * 本地时间落在夏令时开始的间隙或结束的重叠中时取变更前的偏移，与{@link ZoneRules#getOffset(LocalDateTime)}一致；
+ * 超出预先展开的范围时回退到{@link ZoneRules}
+ *
+ * @author zhitron
+ */
+final class MomentZone {
+    private static final int LIMIT_YEAR = 2100;
+    private static final long LIMIT = Moment.toEpochDay(LIMIT_YEAR, 0, 0) * Moment.DAY_MS;
+    private static final ConcurrentHashMap<ZoneId, MomentZone> ZONES = new ConcurrentHashMap<>();
+    /**
+     * 最近一次使用的解析器，同一时区的连续调用不必查表
+     */
+    private static volatile MomentZone recent = new MomentZone(Moment.UTC);
+
+    private final ZoneId zoneId;
+    private final ZoneRules rules;
+    /**
+     * 变更的时间戳，以及变更对应的本地时间分界：本地时间不小于{@code 变更时刻 + max(变更前偏移, 变更后偏移)}时取变更后的偏移
+     */
+    private final long[] transitions, localTransitions;
+    /**
+     * 第{@code i}个区间的偏移毫秒数，区间{@code i}为{@code [transitions[i-1], transitions[i])}
+     */
+    private final int[] offsets;
+    /**
+     * 展开的变更之后仍有按规则生成的变更时为{@code true}
+     */
+    private final boolean bounded;
+    /**
+     * 上次命中的区间，只是查找的起点，线程之间不同步也不影响结果
+     */
+    private int last, localLast;
+
+    private MomentZone(ZoneId zoneId) {
+        this.zoneId = zoneId;
+        this.rules = zoneId.getRules();
+        long[] transitions = new long[16], localTransitions = new long[16];
+        int[] offsets = new int[17];
+        int count = 0;
+        offsets[0] = rules.getOffset(Instant.MIN).getTotalSeconds() * 1000;
+        for (ZoneOffsetTransition transition = rules.nextTransition(Instant.MIN);
+             transition != null && transition.toEpochSecond() * 1000 < LIMIT;
+             transition = rules.nextTransition(transition.getInstant())) {
+            if (count == transitions.length) {
+                transitions = Arrays.copyOf(transitions, count * 2);
+                localTransitions = Arrays.copyOf(localTransitions, count * 2);
+                offsets = Arrays.copyOf(offsets, count * 2 + 1);
+            }
+            int before = transition.getOffsetBefore().getTotalSeconds() * 1000, after = transition.getOffsetAfter().getTotalSeconds() * 1000;
+            transitions[count] = transition.toEpochSecond() * 1000;
+            localTransitions[count] = transitions[count] + Math.max(before, after);
+            offsets[++count] = after;
+        }
+        this.transitions = Arrays.copyOf(transitions, count);
+        this.localTransitions = Arrays.copyOf(localTransitions, count);
+        this.offsets = Arrays.copyOf(offsets, count + 1);
+        this.bounded = !rules.getTransitionRules().isEmpty();
+    }
+
+    /**
+     * 获取时区的解析器
+     *
+     * @param zoneId 时区
+     * @return 返回解析器
+     */
+    static MomentZone of(ZoneId zoneId) {
+        MomentZone zone = recent;
+        if (zone.zoneId != zoneId && !zone.zoneId.equals(zoneId)) {
+            recent = zone = ZONES.computeIfAbsent(zoneId, MomentZone::new);
+        }
+        return zone;
+    }
+
+    /**
+     * 获取时区在指定时刻相对UTC的偏移毫秒数
+     *
+     * @param zoneId    时区
+     * @param timestamp 时间戳
+     * @return 返回偏移毫秒数
+     */
+    static int offsetMillis(ZoneId zoneId, long timestamp) {
+        if (zoneId instanceof ZoneOffset) {
+            return ((ZoneOffset) zoneId).getTotalSeconds() * 1000;
+        }
+        return of(zoneId).offset(timestamp);
+    }
+
+    /**
+     * 获取时区对本地时间相对UTC的偏移毫秒数
+     *
+     * @param zoneId 时区
+     * @param local  本地时间的毫秒数
+     * @return 返回偏移毫秒数
+     */
+    static int localOffsetMillis(ZoneId zoneId, long local) {
+        if (zoneId instanceof ZoneOffset) {
+            return ((ZoneOffset) zoneId).getTotalSeconds() * 1000;
+        }
+        return of(zoneId).localOffset(local);
+    }
+
+    /**
+     * 获取指定时刻的偏移毫秒数
+     *
+     * @param timestamp 时间戳
+     * @return 返回偏移毫秒数
+     */
+    int offset(long timestamp) {
+        if (bounded && timestamp >= LIMIT) {
+            return rules.getOffset(Instant.ofEpochMilli(timestamp)).getTotalSeconds() * 1000;
+        }
+        int index = last;
+        if (!within(transitions, index, timestamp)) {
+            last = index = search(transitions, timestamp);
+        }
+        return offsets[index];
+    }
+
+    /**
+     * 获取本地时间的偏移毫秒数
+     *
+     * @param local 本地时间的毫秒数
+     * @return 返回偏移毫秒数
+     */
+    int localOffset(long local) {
+        if (bounded && local >= LIMIT) {
+            long second = Math.floorDiv(local, 1000L);
+            LocalDateTime time = LocalDateTime.ofEpochSecond(second, (int) (local - second * 1000) * 1000000, ZoneOffset.UTC);
+            return rules.getOffset(time).getTotalSeconds() * 1000;
+        }
+        int index = localLast;
+        if (!within(localTransitions, index, local)) {
+            localLast = index = search(localTransitions, local);
+        }
+        return offsets[index];
+    }
+
+    /**
+     * 获取时刻所在的区间，超出预先展开的范围时返回-1，此时应使用{@link #offset(long)}
+     *
+     * @param timestamp 时间戳
+     * @return 返回区间下标
+     */
+    int index(long timestamp) {
+        return bounded && timestamp >= LIMIT ? -1 : search(transitions, timestamp);
+    }
+
+    /**
+     * 获取区间的起始时间戳，包含
+     *
+     * @param index 区间下标
+     * @return 返回起始时间戳
+     */
+    long start(int index) {
+        return index == 0 ? Long.MIN_VALUE : transitions[index - 1];
+    }
+
+    /**
+     * 获取区间的结束时间戳，不包含
+     *
+     * @param index 区间下标
+     * @return 返回结束时间戳
+     */
+    long end(int index) {
+        return index < transitions.length ? transitions[index] : bounded ? LIMIT : Long.MAX_VALUE;
+    }
+
+    /**
+     * 获取区间的偏移毫秒数
+     *
+     * @param index 区间下标
+     * @return 返回偏移毫秒数
+     */
+    int offsetAt(int index) {
+        return offsets[index];
+    }
+
+    private static boolean within(long[] bounds, int index, long value) {
+        return (index == 0 || bounds[index - 1] <= value) && (index == bounds.length || value < bounds[index]);
+    }
+
+    /**
+     * 查找值所在的区间，即不大于该值的分界个数
+     */
+    private static int search(long[] bounds, long value) {
+        int index = Arrays.binarySearch(bounds, value);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+}
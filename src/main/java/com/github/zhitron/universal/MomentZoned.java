@@ -0,0 +1,187 @@
+package com.github.zhitron.universal;
+
+import java.time.ZoneId;
+
+import static com.github.zhitron.universal.Moment.DAY_MS;
+import static com.github.zhitron.universal.Moment.HOUR_MS;
+import static com.github.zhitron.universal.Moment.MINUTE_MS;
+
+/**
+ * 绑定时区的{@link Moment}视图，按时间戳和时区偏移直接计算本地的日历字段，不创建{@link java.time}对象
+ * <p>
+ * 视图不复制时间，始终读取所绑定对象的当前时间戳；时区的解析器在创建视图时取得，之后每次读取只需查找偏移
+ *
+ * @author zhitron
+ */
+public final class MomentZoned {
+    private final Moment moment;
+    private final ZoneId zoneId;
+    private final MomentZone zone;
+
+    private MomentZoned(Moment moment, ZoneId zoneId) {
+        this.moment = moment;
+        this.zoneId = zoneId;
+        this.zone = MomentZone.of(zoneId);
+    }
+
+    /**
+     * 创建{@link MomentZoned}
+     *
+     * @param moment 时间对象
+     * @param zoneId 时区
+     * @return {@link MomentZoned}
+     */
+    public static MomentZoned of(Moment moment, ZoneId zoneId) {
+        return new MomentZoned(moment, zoneId);
+    }
+
+    /**
+     * 获取绑定的时间对象
+     *
+     * @return 返回时间对象
+     */
+    public Moment getMoment() {
+        return moment;
+    }
+
+    /**
+     * 获取绑定的时区
+     *
+     * @return 返回时区
+     */
+    public ZoneId getZoneId() {
+        return zoneId;
+    }
+
+    /**
+     * 获取时区相对UTC的偏移毫秒数
+     *
+     * @return 返回偏移毫秒数
+     */
+    public int getOffsetMillis() {
+        return zone.offset(moment.getTimestamp());
+    }
+
+    /**
+     * 获取本地的年
+     *
+     * @return 返回年
+     */
+    public int getYearAsNum() {
+        return year(local());
+    }
+
+    /**
+     * 获取本地的月1-12
+     *
+     * @return 返回月
+     */
+    public int getMonthAsNum() {
+        return month(local());
+    }
+
+    /**
+     * 获取本地的日1-31
+     *
+     * @return 返回日
+     */
+    public int getDayAsNum() {
+        return day(local());
+    }
+
+    /**
+     * 获取本地的季度1-4
+     *
+     * @return 返回季度
+     */
+    public int getQuarter() {
+        return quarter(local());
+    }
+
+    /**
+     * 获取本地的时0-23
+     *
+     * @return 返回时
+     */
+    public int getHourAsNum() {
+        return hour(local());
+    }
+
+    /**
+     * 获取本地的分0-59
+     *
+     * @return 返回分
+     */
+    public int getMinuteAsNum() {
+        return minute(local());
+    }
+
+    /**
+     * 获取本地的{@code yyyyMMdd}时间数字如20250416
+     *
+     * @return 获取值
+     */
+    public int getDateAsNum() {
+        return date(local());
+    }
+
+    /**
+     * 获取本地的{@code HHmmss}时间数字如132647
+     *
+     * @return 获取值
+     */
+    public int getTimeAsNum() {
+        return time(local());
+    }
+
+    /**
+     * 获取本地的{@code yyyyMMddHHmmss}时间数字如20250416132647
+     *
+     * @return 获取值
+     */
+    public long getDateTimeAsNum() {
+        return dateTime(local());
+    }
+
+    private long local() {
+        long timestamp = moment.getTimestamp();
+        return timestamp + zone.offset(timestamp);
+    }
+
+    static int year(long local) {
+        return (int) Moment.civilYear(Moment.toCivil(Math.floorDiv(local, DAY_MS)));
+    }
+
+    static int month(long local) {
+        return Moment.civilMonth(Moment.toCivil(Math.floorDiv(local, DAY_MS))) + 1;
+    }
+
+    static int day(long local) {
+        return Moment.civilDay(Moment.toCivil(Math.floorDiv(local, DAY_MS))) + 1;
+    }
+
+    static int quarter(long local) {
+        return Moment.civilMonth(Moment.toCivil(Math.floorDiv(local, DAY_MS))) / 3 + 1;
+    }
+
+    static int hour(long local) {
+        return (int) (Math.floorMod(local, DAY_MS) / HOUR_MS);
+    }
+
+    static int minute(long local) {
+        return (int) (Math.floorMod(local, DAY_MS) / MINUTE_MS % 60);
+    }
+
+    static int date(long local) {
+        return Moment.civilDateNum(Moment.toCivil(Math.floorDiv(local, DAY_MS)));
+    }
+
+    static int time(long local) {
+        int second = (int) (Math.floorMod(local, DAY_MS) / 1000);
+        return second / 3600 * 10000 + second / 60 % 60 * 100 + second % 60;
+    }
+
+    static long dateTime(long local) {
+        return date(local) * 1000000L + time(local);
+    }
+}
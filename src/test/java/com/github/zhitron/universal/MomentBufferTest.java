@@ -0,0 +1,128 @@
+package com.github.zhitron.universal;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.Assert.*;
+
+/**
+ * MomentBuffer类的JUnit 4单元测试
+ */
+public class MomentBufferTest {
+
+    @Test
+    public void testReadAndWrite() {
+        // 测试槽位读写与字段读取
+        MomentBuffer buffer = MomentBuffer.allocateDirect(4);
+        assertEquals(4, buffer.size());
+        Moment m = Moment.ofDateTime(20250416132647L).setMillis(123).setMicros(456).setNanos(789);
+        buffer.write(1, m);
+        assertEquals(m.getTimestamp(), buffer.getTimestamp(1));
+        assertEquals(456, buffer.getMicrosAsNum(1));
+        assertEquals(789, buffer.getNanosAsNum(1));
+        assertEquals(20250416, buffer.getDateAsNum(1));
+        assertEquals(132647, buffer.getTimeAsNum(1));
+        assertEquals(20250416132647L, buffer.getDateTimeAsNum(1));
+        assertEquals(2025, buffer.getYearAsNum(1));
+        assertEquals(4, buffer.getMonthAsNum(1));
+        assertEquals(16, buffer.getDayAsNum(1));
+        assertEquals(13, buffer.getHourAsNum(1));
+        assertEquals(26, buffer.getMinuteAsNum(1));
+        assertEquals(47, buffer.getSecondAsNum(1));
+        assertEquals(123, buffer.getMillisAsNum(1));
+        Moment copy = buffer.read(1, new Moment());
+        assertEquals(m.getTimestamp(), copy.getTimestamp());
+        assertEquals(789, copy.getNanosAsNum());
+        // 测试原地修改字段
+        buffer.setDate(1, 2024, 2, 29);
+        assertEquals(20240229132647L, buffer.getDateTimeAsNum(1));
+        buffer.setTime(1, 1, 2, 3, 4);
+        assertEquals(20240229010203L, buffer.getDateTimeAsNum(1));
+        assertEquals(4, buffer.getMillisAsNum(1));
+        assertEquals(456, buffer.getMicrosAsNum(1));
+        buffer.setTimestamp(0, -1L);
+        assertEquals(19691231235959L, buffer.getDateTimeAsNum(0));
+    }
+
+    @Test
+    public void testCursor() {
+        // 测试游标遍历与写回
+        ByteBuffer raw = ByteBuffer.allocate(MomentBuffer.SLOT_SIZE * 3 + 4);
+        raw.position(4);
+        MomentBuffer buffer = MomentBuffer.wrap(raw);
+        long base = Moment.ofDate(20250416).getTimestamp();
+        for (int i = 0; i < buffer.size(); i++) {
+            buffer.setTimestamp(i, base + i * 86_400_000L);
+        }
+        MomentBuffer.Cursor cursor = buffer.cursor();
+        int count = 0;
+        while (cursor.next()) {
+            assertEquals(20250416 + cursor.index(), cursor.getDateAsNum());
+            cursor.addMonth(1);
+            cursor.store();
+            count++;
+        }
+        assertEquals(3, count);
+        assertEquals(20250516, buffer.getDateAsNum(0));
+        assertEquals(20250518, buffer.getDateAsNum(2));
+        assertEquals(4, raw.position());
+    }
+
+    @Test
+    public void testCursorSubMillis() {
+        // 测试游标只修改微秒和纳秒后写回，时间戳保持不变
+        MomentBuffer buffer = MomentBuffer.allocateDirect(2);
+        long base = Moment.ofDateTime(20250416132647L).getTimestamp() + 123;
+        buffer.setTimestamp(0, base);
+        buffer.setTimestamp(1, base + 1);
+        MomentBuffer.Cursor cursor = buffer.cursor();
+        assertTrue(cursor.next());
+        cursor.setMicros(7);
+        cursor.store();
+        assertTrue(cursor.next());
+        cursor.setNanosIfCorrect(9);
+        cursor.store();
+        assertEquals(base, buffer.getTimestamp(0));
+        assertEquals(7, buffer.getMicrosAsNum(0));
+        assertEquals(base + 1, buffer.getTimestamp(1));
+        assertEquals(9, buffer.getNanosAsNum(1));
+        // 测试游标增加微秒和纳秒后写回，包括进位到毫秒
+        cursor.moveTo(0);
+        cursor.addNanos(5);
+        cursor.store();
+        cursor.moveTo(1);
+        cursor.addMicros(1500);
+        cursor.store();
+        assertEquals(base, buffer.getTimestamp(0));
+        assertEquals(20250416, buffer.getDateAsNum(0));
+        Moment slot = buffer.read(0, new Moment());
+        assertEquals(7, slot.getMicrosAsNum());
+        assertEquals(5, slot.getNanosAsNum());
+        assertEquals(base + 2, buffer.getTimestamp(1));
+        assertEquals(500, buffer.getMicrosAsNum(1));
+    }
+
+    @Test
+    public void testMappedFile() throws IOException {
+        // 测试内存映射文件
+        File file = File.createTempFile("moment", ".bin");
+        file.deleteOnExit();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MomentBuffer buffer = MomentBuffer.map(channel, FileChannel.MapMode.READ_WRITE, 0, 2);
+            buffer.setTimestamp(1, 1_744_809_999_123L);
+            MomentBuffer reopened = MomentBuffer.map(channel, FileChannel.MapMode.READ_ONLY, 0, 2);
+            assertEquals(1_744_809_999_123L, reopened.getTimestamp(1));
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testOutOfBounds() {
+        // 测试越界访问
+        MomentBuffer.allocateDirect(1).getTimestamp(1);
+    }
+}
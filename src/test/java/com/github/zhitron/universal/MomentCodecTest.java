@@ -0,0 +1,85 @@
+package com.github.zhitron.universal;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * MomentCodec类的JUnit 4单元测试
+ */
+public class MomentCodecTest {
+
+    @Test
+    public void testPackAndAccessors() {
+        // 测试压缩值的字段读取
+        Moment m = Moment.ofDateTime(20250416132647L).setMillis(123);
+        long packed = MomentCodec.pack(m);
+        assertEquals(packed, MomentCodec.pack(m.getTimestamp()));
+        assertEquals(2025, MomentCodec.year(packed));
+        assertEquals(4, MomentCodec.month(packed));
+        assertEquals(16, MomentCodec.day(packed));
+        assertEquals(13, MomentCodec.hour(packed));
+        assertEquals(26, MomentCodec.minute(packed));
+        assertEquals(47, MomentCodec.second(packed));
+        assertEquals(123, MomentCodec.millis(packed));
+        assertEquals(2, MomentCodec.quarter(packed));
+        assertEquals(20250416, MomentCodec.dateAsNum(packed));
+        assertEquals(132647, MomentCodec.timeAsNum(packed));
+        assertEquals(20250416132647L, MomentCodec.dateTimeAsNum(packed));
+        assertEquals(m.getTimestamp(), MomentCodec.timestamp(packed));
+        assertEquals(m.getTimestamp(), MomentCodec.unpack(packed).getTimestamp());
+        // 测试1970年之前
+        packed = MomentCodec.pack(-1L);
+        assertEquals(19691231235959L, MomentCodec.dateTimeAsNum(packed));
+        assertEquals(999, MomentCodec.millis(packed));
+        assertEquals(-1L, MomentCodec.timestamp(packed));
+    }
+
+    @Test
+    public void testPackedArithmetic() {
+        // 测试直接在压缩值上加减
+        long packed = MomentCodec.pack(2024, 1, 31, 23, 59, 59, 999);
+        assertEquals(20240229, MomentCodec.dateAsNum(MomentCodec.plusMonths(packed, 1)));
+        assertEquals(20250228, MomentCodec.dateAsNum(MomentCodec.plusMonths(packed, 13)));
+        assertEquals(20231231, MomentCodec.dateAsNum(MomentCodec.plusMonths(packed, -1)));
+        assertEquals(20240201235959L, MomentCodec.dateTimeAsNum(MomentCodec.plusDays(packed, 1)));
+        assertEquals(20240201000000L, MomentCodec.dateTimeAsNum(MomentCodec.plusMillis(packed, 1)));
+        Moment expected = Moment.ofDateTime(20240131235959L).setMillis(999).addDay(-1_000_000);
+        assertEquals(expected.getTimestamp(), MomentCodec.timestamp(MomentCodec.plusDays(packed, -1_000_000)));
+    }
+
+    @Test
+    public void testSortOrder() {
+        // 测试两种编码的数值顺序与compareTo一致
+        Random random = new Random(20250416);
+        for (int i = 0; i < 10000; i++) {
+            Moment a = Moment.of(random.nextLong() % 100_000_000_000_000L).setMicros(random.nextInt(1000));
+            Moment b = Moment.of(random.nextLong() % 100_000_000_000_000L);
+            int expected = Integer.signum(a.compareTo(b));
+            assertEquals(expected, Integer.signum(Long.compare(MomentCodec.pack(a), MomentCodec.pack(b))));
+            if (expected != 0) {
+                assertEquals(expected, Integer.signum(Long.compare(MomentCodec.toEpochMicros(a), MomentCodec.toEpochMicros(b))));
+            }
+            assertEquals(a.getTimestamp(), MomentCodec.timestamp(MomentCodec.pack(a)));
+        }
+    }
+
+    @Test
+    public void testEpochMicros() {
+        // 测试纪元微秒编码
+        Moment m = Moment.of(-1L).setMicros(5);
+        long micros = MomentCodec.toEpochMicros(m);
+        assertEquals(-995L, micros);
+        Moment decoded = MomentCodec.ofEpochMicros(micros);
+        assertEquals(-1L, decoded.getTimestamp());
+        assertEquals(5, decoded.getMicrosAsNum());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidField() {
+        // 测试非法字段
+        MomentCodec.pack(2025, 2, 29, 0, 0, 0, 0);
+    }
+}
@@ -0,0 +1,118 @@
+package com.github.zhitron.universal;
+
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * MomentColumn类的JUnit 4单元测试
+ */
+public class MomentColumnTest {
+
+    private static long[] randomTimestamps(int size) {
+        Random random = new Random(20250416);
+        long[] timestamps = new long[size];
+        for (int i = 0; i < size; i++) {
+            timestamps[i] = random.nextLong() % 10_000_000_000_000L;
+        }
+        return timestamps;
+    }
+
+    @Test
+    public void testBulkFields() {
+        // 测试批量计算结果与Moment逐个计算一致
+        long[] timestamps = randomTimestamps(5000);
+        MomentColumn column = MomentColumn.of(timestamps);
+        int[] date = column.getDateAsNum(null), time = column.getTimeAsNum(null);
+        long[] dateTime = column.getDateTimeAsNum(null);
+        int[] year = column.getYearAsNum(null), month = column.getMonthAsNum(null), day = column.getDayAsNum(null), quarter = column.getQuarter(null);
+        int[] hour = column.getHourAsNum(null), minute = column.getMinuteAsNum(null), second = column.getSecondAsNum(null), millis = column.getMillisAsNum(null);
+        for (int i = 0; i < timestamps.length; i++) {
+            Moment m = Moment.of(timestamps[i]);
+            assertEquals(m.getDateAsNum(), date[i]);
+            assertEquals(m.getTimeAsNum(), time[i]);
+            assertEquals(m.getDateTimeAsNum(), dateTime[i]);
+            assertEquals(m.getYearAsNum(), year[i]);
+            assertEquals(m.getMonthAsNum(), month[i]);
+            assertEquals(m.getDayAsNum(), day[i]);
+            assertEquals(m.getQuarter(), quarter[i]);
+            assertEquals(m.getHourAsNum(), hour[i]);
+            assertEquals(m.getMinuteAsNum(), minute[i]);
+            assertEquals(m.getSecondAsNum(), second[i]);
+            assertEquals(m.getMillisAsNum(), millis[i]);
+        }
+    }
+
+    @Test
+    public void testReuseOutputAndRange() {
+        // 测试复用输出数组和子区间
+        long base = Moment.ofDateTime(20250416000000L).getTimestamp();
+        long[] timestamps = {base - 1, base, base + 3_600_000L, base + 86_400_000L};
+        MomentColumn column = MomentColumn.of(timestamps, 1, 4);
+        assertEquals(3, column.size());
+        assertEquals(base, column.getTimestamp(0));
+        int[] out = new int[8];
+        assertSame(out, column.getDateAsNum(out));
+        assertArrayEquals(new int[]{20250416, 20250416, 20250417, 0, 0, 0, 0, 0}, out);
+        assertSame(out, column.getHourAsNum(out));
+        assertEquals(1, out[1]);
+        int[] small = new int[1];
+        assertNotSame(small, column.getDateAsNum(small));
+    }
+
+    @Test
+    public void testParallelConversion() {
+        // 测试并行批量计算结果与单线程一致
+        long[] timestamps = randomTimestamps(200_000);
+        MomentColumn column = MomentColumn.of(timestamps, 7, timestamps.length - 3);
+        long[] expectedDateTime = column.getDateTimeAsNum(null);
+        int[] expectedDate = column.getDateAsNum(null), expectedTime = column.getTimeAsNum(null);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            assertArrayEquals(expectedDateTime, column.getDateTimeAsNum(null, pool));
+            assertArrayEquals(expectedDate, column.getDateAsNum(null, pool));
+            assertArrayEquals(expectedTime, column.getTimeAsNum(null, pool));
+            assertArrayEquals(expectedDateTime, column.getDateTimeAsNum(new long[column.size()], executor, 5));
+            assertArrayEquals(expectedDate, column.getDateAsNum(null, executor, 3));
+            assertArrayEquals(expectedTime, column.getTimeAsNum(null, executor, 1));
+        } finally {
+            pool.shutdown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testZonedConversion() {
+        // 测试有序和无序输入按时区转换的结果与toLocalDateTime一致，包括跨越2100年后的时间
+        long[] unsorted = randomTimestamps(20000);
+        unsorted[0] = Moment.ofDate(21500701).getTimestamp();
+        long[] sorted = unsorted.clone();
+        Arrays.sort(sorted);
+        for (String id : new String[]{"America/New_York", "Asia/Shanghai", "Europe/London"}) {
+            ZoneId zoneId = ZoneId.of(id);
+            for (long[] timestamps : new long[][]{sorted, unsorted}) {
+                MomentColumn column = MomentColumn.of(timestamps);
+                int[] dates = column.getDateAsNum(null, zoneId), times = column.getTimeAsNum(null, zoneId), hours = column.getHourAsNum(null, zoneId);
+                long[] dateTimes = column.getDateTimeAsNum(null, zoneId);
+                for (int i = 0; i < timestamps.length; i++) {
+                    LocalDateTime time = Moment.of(timestamps[i]).toLocalDateTime(zoneId);
+                    int date = time.getYear() * 10000 + time.getMonthValue() * 100 + time.getDayOfMonth();
+                    int clock = time.getHour() * 10000 + time.getMinute() * 100 + time.getSecond();
+                    assertEquals(id + "@" + timestamps[i], date, dates[i]);
+                    assertEquals(clock, times[i]);
+                    assertEquals(time.getHour(), hours[i]);
+                    assertEquals(date * 1000000L + clock, dateTimes[i]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.zhitron.universal;
+
+import org.junit.Test;
+
+import java.time.ZoneOffset;
+
+import static org.junit.Assert.*;
+
+/**
+ * MomentDetector类的JUnit 4单元测试
+ */
+public class MomentDetectorTest {
+
+    @Test
+    public void testDetect() {
+        // 测试同一列中混合的格式
+        MomentDetector detector = MomentDetector.create();
+        Moment m = Moment.of(0L);
+        assertEquals(20250416132647L, detector.parse("c", "2025-04-16 13:26:47", m).getDateTimeAsNum());
+        assertEquals("yyyy-MM-dd HH:mm:ss", detector.getPattern("c"));
+        assertEquals(20250416000000L, detector.parse("c", "2025/04/16", m).getDateTimeAsNum());
+        assertEquals(20250417000000L, detector.parse("c", "20250417", m).getDateTimeAsNum());
+        assertEquals(20250416132647L, detector.parse("c", "20250416132647", m).getDateTimeAsNum());
+        assertEquals(1744809907000L, detector.parse("c", "1744809907", m).getTimestamp());
+        assertEquals("epoch-seconds", detector.getPattern("c"));
+        assertEquals(1744809907123L, detector.parse("c", "1744809907123", m).getTimestamp());
+        assertEquals(123, m.getMillisAsNum());
+        assertEquals("2025-04-16T13:25:07.123Z", detector.parse(null, "2025-04-16T13:25:07.123Z", m).toString());
+        assertEquals("epoch-millis", detector.getPattern("c"));
+        assertNull(detector.getPattern("other"));
+    }
+
+    @Test
+    public void testZone() {
+        // 测试按时区解析，纪元时间不受时区影响
+        MomentDetector detector = MomentDetector.of(ZoneOffset.ofHours(8), "yyyy.MM.dd");
+        Moment m = Moment.of(0L);
+        assertEquals(20250415160000L, detector.parse("c", "2025.04.16", m).getDateTimeAsNum());
+        assertEquals(1744809907000L, detector.parse("c", "1744809907", m).getTimestamp());
+    }
+
+    @Test
+    public void testError() {
+        // 测试没有匹配的格式和形状匹配但字段非法
+        MomentDetector detector = MomentDetector.create();
+        Moment m = Moment.of(0L);
+        long status = detector.tryParse("c", "16/04/2025", m);
+        assertEquals(MomentFormat.ERROR_PATTERN, MomentFormat.errorCode(status));
+        assertEquals("No pattern matches the string '16/04/2025'.", MomentFormat.message(status, "16/04/2025"));
+        status = detector.tryParse("c", "2025-13-16", m);
+        assertEquals(MomentFormat.ERROR_MONTH, MomentFormat.errorCode(status));
+        assertEquals(0L, m.getTimestamp());
+        try {
+            detector.parse("c", "x", m);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("No pattern matches the string 'x'.", e.getMessage());
+        }
+        // 测试形状散列冲突的非数字输入不会被当作纪元时间
+        status = detector.tryParse(null, "00000000/O", m);
+        assertEquals(MomentFormat.ERROR_PATTERN, MomentFormat.errorCode(status));
+        assertEquals(0L, m.getTimestamp());
+        // 测试记住的格式是唯一匹配时返回它的具体错误
+        assertFalse(MomentFormat.isError(detector.tryParse("d", "2025-04-16", m)));
+        status = detector.tryParse("d", "2025-13-16", m);
+        assertEquals(MomentFormat.ERROR_MONTH, MomentFormat.errorCode(status));
+        // 测试来源为null时不记录也不抛出异常
+        assertNull(detector.getPattern(null));
+    }
+}
@@ -0,0 +1,235 @@
+package com.github.zhitron.universal;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+
+import static org.junit.Assert.*;
+
+/**
+ * MomentFormat类的JUnit 4单元测试
+ */
+public class MomentFormatTest {
+
+    @Test
+    public void testCache() {
+        // 测试相同格式字符串返回同一个编译结果
+        MomentFormat format = MomentFormat.of("yyyy-MM-dd HH:mm:ss");
+        assertSame(format, MomentFormat.of("yyyy-MM-dd HH:mm:ss"));
+        assertNotSame(format, MomentFormat.compile("yyyy-MM-dd HH:mm:ss"));
+        assertEquals("yyyy-MM-dd HH:mm:ss", format.getPattern());
+    }
+
+    @Test
+    public void testFormat() {
+        // 测试格式化
+        Moment m = Moment.ofDateTime(20250416132647L).setMillis(123);
+        assertEquals("2025-04-16 13:26:47", MomentFormat.of("yyyy-MM-dd HH:mm:ss").format(m));
+        assertEquals("20250416132647123", MomentFormat.of("yyyyMMddHHmmssSSS").format(m));
+        assertEquals("2025-04-16T13:26:47.123Z", MomentFormat.of("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'").format(m));
+        assertEquals("it's 13", MomentFormat.of("'it''s' HH").format(m));
+        assertEquals("yy/2025", MomentFormat.of("yy/yyyy").format(m));
+        assertEquals("2025-04-16 21:26", MomentFormat.of("yyyy-MM-dd HH:mm").format(m, ZoneOffset.ofHours(8)));
+    }
+
+    @Test
+    public void testParse() {
+        // 测试解析
+        Moment m = new Moment();
+        MomentFormat.of("yyyy-MM-dd'T'HH:mm:ss.SSS").parse("2025-04-16T13:26:47.123", m, ZoneOffset.UTC);
+        assertEquals(20250416132647L, m.getDateTimeAsNum());
+        assertEquals(123, m.getMillisAsNum());
+        MomentFormat.of("yyyyMMddHHmmss").parse("20240229010203", m, ZoneOffset.ofHours(8));
+        assertEquals(20240228170203L, m.getDateTimeAsNum());
+        // 测试格式中缺少年月日时取目标对象的当前值
+        m = Moment.ofDate(20250416);
+        MomentFormat.of("HH:mm").parse("13:26", m, ZoneOffset.UTC);
+        assertEquals(20250416132600L, m.getDateTimeAsNum());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseInvalidDay() {
+        // 测试非法日期
+        Moment.of("2025-02-29", "yyyy-MM-dd");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseInvalidDigit() {
+        // 测试非法数字
+        Moment.of("2025-0x-01", "yyyy-MM-dd");
+    }
+
+    @Test
+    public void testFormatTo() throws IOException {
+        // 测试直接写入调用方的缓冲区
+        Moment m = Moment.ofDateTime(20250416132647L).setMillis(7);
+        MomentFormat format = MomentFormat.of("yyyy年MM月dd日 HH:mm:ss.SSS");
+        char[] chars = new char[format.getMaxLength() + 2];
+        int end = m.formatTo(chars, 2, format, ZoneOffset.UTC);
+        assertEquals("2025年04月16日 13:26:47.007", new String(chars, 2, end - 2));
+        byte[] bytes = new byte[format.getMaxLength()];
+        end = m.formatTo(bytes, 0, format, ZoneOffset.UTC);
+        assertEquals("2025年04月16日 13:26:47.007", new String(bytes, 0, end, StandardCharsets.UTF_8));
+        end = m.formatTo(bytes, 0);
+        assertEquals("2025-04-16T13:26:47.007Z", new String(bytes, 0, end, StandardCharsets.US_ASCII));
+        StringBuilder builder = new StringBuilder("at ");
+        assertSame(builder, m.formatTo(builder));
+        assertEquals("at 2025-04-16T13:26:47.007Z", builder.toString());
+        StringWriter writer = new StringWriter();
+        m.formatTo(writer, MomentFormat.of("HH:mm"), ZoneOffset.ofHours(-5));
+        assertEquals("08:26", writer.toString());
+        // 测试年份位数可变和负数年份
+        m = Moment.ofDateTime(20250416132647L).setYear(-12);
+        assertEquals("-12-04-16", MomentFormat.of("yyyy-MM-dd").format(m));
+        assertEquals("-12-04-16T13:26:47.000Z", m.toString());
+    }
+
+    @Test
+    public void testByteBuffer() {
+        // 测试写入堆外缓冲区和堆内缓冲区
+        Moment m = Moment.ofDateTime(20250416132647L).setMillis(7);
+        ByteBuffer direct = ByteBuffer.allocateDirect(64);
+        MomentFormat.ISO.formatTo(m, ZoneOffset.UTC, direct).put((byte) ';');
+        MomentFormat.ISO.formatTo(m.getTimestamp() + 1, ZoneOffset.ofHours(8), direct);
+        ByteBuffer heap = ByteBuffer.allocate(64);
+        heap.position(3);
+        MomentFormat.ISO.formatTo(m, ZoneOffset.UTC, heap);
+        assertEquals(27, heap.position());
+        direct.flip();
+        byte[] bytes = new byte[direct.remaining()];
+        direct.duplicate().get(bytes);
+        assertEquals("2025-04-16T13:26:47.007Z;2025-04-16T21:26:47.008Z", new String(bytes, StandardCharsets.US_ASCII));
+        // 测试从缓冲区解析并推进position
+        Moment target = Moment.of(0L);
+        MomentFormat.ISO.parse(direct, target, ZoneOffset.UTC);
+        assertEquals(m.getTimestamp(), target.getTimestamp());
+        assertEquals(24, direct.position());
+        direct.get();
+        MomentFormat.ISO.parse(direct, target, ZoneOffset.ofHours(8));
+        assertEquals(m.getTimestamp() + 1, target.getTimestamp());
+        assertFalse(direct.hasRemaining());
+        // 测试缓冲区剩余空间不足和非法数字
+        ByteBuffer small = ByteBuffer.allocate(10);
+        try {
+            MomentFormat.ISO.formatTo(m, ZoneOffset.UTC, small);
+            fail();
+        } catch (BufferOverflowException ignored) {
+        }
+        small.clear();
+        small.put("2025-0x-01".getBytes(StandardCharsets.US_ASCII)).flip();
+        try {
+            MomentFormat.of("yyyy-MM-dd").parse(small, target, ZoneOffset.UTC);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        assertEquals(0, small.position());
+    }
+
+    @Test
+    public void testSameSecond() {
+        // 测试同一秒内只重写毫秒，跨秒和跨时区时完整格式化
+        MomentFormat format = MomentFormat.of("SSS|yyyy-MM-dd HH:mm:ss.SSS");
+        Moment m = Moment.ofDateTime(20250416132647L).setMillis(7);
+        assertEquals("007|2025-04-16 13:26:47.007", format.format(m));
+        assertEquals("999|2025-04-16 13:26:47.999", format.format(m.setMillis(999)));
+        assertEquals("000|2025-04-16 13:26:48.000", format.format(m.addMillis(1)));
+        assertEquals("000|2025-04-16 21:26:48.000", format.format(m, ZoneOffset.ofHours(8)));
+        assertEquals("123|2025-04-16 21:26:48.123", format.format(m.setMillis(123), ZoneOffset.ofHours(8)));
+        assertEquals("123|-12-04-16 13:26:48.123", format.format(m.setYear(-12)));
+        assertEquals("456|-12-04-16 13:26:48.456", format.format(m.setMillis(456)));
+        // 测试不含毫秒的格式
+        assertEquals("2025-04-16T13:26:48.456Z", m.setYear(2025).toString());
+        assertEquals("2025-04-16T13:26:48.457Z", m.addMillis(1).toString());
+        assertEquals("13:26:48", MomentFormat.of("HH:mm:ss").format(m.setMillis(0)));
+        assertEquals("13:26:48", MomentFormat.of("HH:mm:ss").format(m.setMillis(999)));
+    }
+
+    @Test
+    public void testParseCharSequence() {
+        // 测试从字符序列的指定位置就地解析
+        MomentFormat format = MomentFormat.of("yyyy-MM-dd HH:mm:ss.SSS");
+        StringBuilder line = new StringBuilder("id=7,2025-04-16 13:26:47.123,ok");
+        Moment m = new Moment();
+        assertEquals(28, format.parse(line, 5, m, ZoneOffset.UTC));
+        assertEquals(20250416132647L, m.getDateTimeAsNum());
+        assertEquals(123, m.getMillisAsNum());
+        assertEquals(28, format.parse(line, 5, m, ZoneOffset.ofHours(8)));
+        assertEquals(20250416052647L, m.getDateTimeAsNum());
+        // 测试符号与越界
+        assertEquals(-12, MomentFormat.of("yyyy").parse("-012", m, ZoneOffset.UTC).getYearAsNum());
+        // 测试字节输入对符号的处理与字符序列一致
+        assertEquals(-12, MomentFormat.of("yyyy").parse(ByteBuffer.wrap("-012".getBytes(StandardCharsets.US_ASCII)), m, ZoneOffset.UTC).getYearAsNum());
+        assertEquals(12, MomentFormat.of("yyyy").parse(ByteBuffer.wrap("+012".getBytes(StandardCharsets.US_ASCII)), m, ZoneOffset.UTC).getYearAsNum());
+        assertEquals(4, MomentFormat.of("yyyy").parse("-012".getBytes(StandardCharsets.US_ASCII), 0, m, ZoneOffset.UTC));
+        assertEquals(-12, m.getYearAsNum());
+        assertTrue(MomentFormat.isError(MomentFormat.of("yyyyMM").tryParse(ByteBuffer.wrap("20250-".getBytes(StandardCharsets.US_ASCII)), m, ZoneOffset.UTC)));
+        assertTrue(MomentFormat.isError(MomentFormat.of("yyyyMM").tryParse("20250-", 0, m, ZoneOffset.UTC)));
+        try {
+            format.parse(line, 20, m, ZoneOffset.UTC);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("'yyyy'"));
+        }
+    }
+
+    @Test
+    public void testTryParse() {
+        // 测试解析成功返回结束位置
+        MomentFormat format = MomentFormat.of("yyyy-MM-dd HH:mm");
+        Moment m = Moment.ofDate(20000101);
+        long status = Moment.tryParse("2025-04-16 13:26", format, m);
+        assertFalse(MomentFormat.isError(status));
+        assertEquals(16, MomentFormat.position(status));
+        assertNull(MomentFormat.message(status, "2025-04-16 13:26"));
+        assertEquals(20250416132600L, m.getDateTimeAsNum());
+        // 测试字段错误返回字段的起始位置且不修改目标对象
+        status = Moment.tryParse("2025-0x-16 13:26", format, m);
+        assertEquals(MomentFormat.ERROR_FIELD, MomentFormat.errorCode(status));
+        assertEquals(5, MomentFormat.position(status));
+        assertTrue(MomentFormat.message(status, "2025-0x-16 13:26").contains("'0x'"));
+        assertEquals(20250416132600L, m.getDateTimeAsNum());
+        status = Moment.tryParse("2025-04", format, m);
+        assertEquals(MomentFormat.ERROR_FIELD, MomentFormat.errorCode(status));
+        assertEquals(8, MomentFormat.position(status));
+        // 测试范围错误
+        status = Moment.tryParse("2025-02-29 13:26", format, m);
+        assertEquals(MomentFormat.ERROR_DAY, MomentFormat.errorCode(status));
+        assertEquals("The dat exceeds the range of [1,28],The actual value resolved is '29'.", MomentFormat.message(status, null));
+        status = Moment.tryParse("2025-02-28 24:00", format, m);
+        assertEquals(MomentFormat.ERROR_HOUR, MomentFormat.errorCode(status));
+        assertEquals("The hour exceeds the range of [0,24),The actual value resolved is '24'.", MomentFormat.message(status, null));
+        assertEquals(20250416132600L, m.getDateTimeAsNum());
+        try {
+            m.setTimestamp("2025-13-01 00:00", "yyyy-MM-dd HH:mm");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("The month exceeds the range of [1,12],The actual value resolved is '13'.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testParseBytes() {
+        // 测试固定布局走快速路径，非法输入回退到通用解析
+        byte[] bytes = "ts=2025-04-16T13:26:47.123Z;20250416132647".getBytes(StandardCharsets.US_ASCII);
+        Moment m = new Moment();
+        assertEquals(27, MomentFormat.ISO.parse(bytes, 3, m, ZoneOffset.UTC));
+        assertEquals(20250416132647L, m.getDateTimeAsNum());
+        assertEquals(123, m.getMillisAsNum());
+        assertEquals(42, MomentFormat.of("yyyyMMddHHmmss").parse(bytes, 28, m, ZoneOffset.ofHours(8)));
+        assertEquals(20250416052647L, m.getDateTimeAsNum());
+        assertEquals(0, m.getMillisAsNum());
+        try {
+            MomentFormat.ISO.parse(bytes, 0, m, ZoneOffset.UTC);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("'yyyy'"));
+        }
+        long status = MomentFormat.ISO.tryParse("2025-13-16T13:26:47.123Z", 0, m, ZoneOffset.UTC);
+        assertEquals(MomentFormat.ERROR_MONTH, MomentFormat.errorCode(status));
+    }
+}
@@ -0,0 +1,79 @@
+package com.github.zhitron.universal;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * MomentReader类的JUnit 4单元测试
+ */
+public class MomentReaderTest {
+    private static final String CSV = "1,2025-04-16 13:26:47,a\r\n"
+            + "2,2025-04-16 13:26:48,b\n"
+            + "\n"
+            + "3,bad,c\n"
+            + "4\n"
+            + "5,2025-04-16 13:26:49x,d\n"
+            + "6,2025-04-16 13:26:50";
+
+    @Test
+    public void testReader() throws IOException {
+        // 测试从字符流读取，非法行写入INVALID
+        MomentFormat format = MomentFormat.of("yyyy-MM-dd HH:mm:ss");
+        long base = Moment.ofDateTime(20250416132647L).getTimestamp();
+        long[] expected = {base, base + 1000, MomentReader.INVALID, MomentReader.INVALID, MomentReader.INVALID, base + 3000};
+        try (MomentReader reader = MomentReader.of(new StringReader(CSV), ',', 1, format, ZoneOffset.UTC)) {
+            long[] dst = new long[10];
+            assertEquals(4, reader.read(dst, 1, 4));
+            assertEquals(2, reader.read(dst, 5, 5));
+            assertEquals(-1, reader.read(dst, 0, 5));
+            assertArrayEquals(expected, Arrays.copyOfRange(dst, 1, 7));
+        }
+        // 测试从字节流按批读取
+        try (MomentReader reader = MomentReader.of(new ByteArrayInputStream(CSV.getBytes(StandardCharsets.US_ASCII)), ',', 1, format, ZoneOffset.ofHours(8))) {
+            List<Long> values = new ArrayList<>();
+            List<Integer> batches = new ArrayList<>();
+            assertEquals(6, reader.readAll((batch, length) -> {
+                batches.add(length);
+                for (int i = 0; i < length; i++) values.add(batch[i]);
+            }, 4));
+            assertEquals(Arrays.asList(4, 2), batches);
+            assertEquals(base - 8 * 3600000L, (long) values.get(0));
+            assertEquals(base + 3000 - 8 * 3600000L, (long) values.get(5));
+            assertEquals(MomentReader.INVALID, (long) values.get(2));
+        }
+    }
+
+    @Test
+    public void testLongInput() throws IOException {
+        // 测试跨越缓冲区边界和超长行
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            builder.append(i).append('\t').append("2025-04-16T13:26:47.123Z").append('\n');
+        }
+        for (int i = 0; i < 100000; i++) builder.append('x');
+        builder.append("\t2025-04-16T13:26:47.124Z\n");
+        long expected = Moment.ofDateTime(20250416132647L).setMillis(123).getTimestamp();
+        for (int mode = 0; mode < 2; mode++) {
+            MomentReader reader = mode == 0
+                    ? MomentReader.of(new StringReader(builder.toString()), '\t', 1, MomentFormat.ISO, ZoneOffset.UTC)
+                    : MomentReader.of(new ByteArrayInputStream(builder.toString().getBytes(StandardCharsets.US_ASCII)), '\t', 1, MomentFormat.ISO, ZoneOffset.UTC);
+            long[] dst = new long[20001];
+            int count = 0;
+            for (int n; (n = reader.read(dst, count, dst.length - count)) > 0; ) count += n;
+            assertEquals(20001, count);
+            for (int i = 0; i < 20000; i++) assertEquals(expected, dst[i]);
+            assertEquals(expected + 1, dst[20000]);
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.github.zhitron.universal;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * MomentSwar类的JUnit 4单元测试
+ */
+public class MomentSwarTest {
+
+    @Test
+    public void testLayout() {
+        // 测试识别支持的固定布局
+        assertEquals(MomentSwar.ISO_Z, layout(MomentFormat.ISO));
+        assertEquals(MomentSwar.ISO, layout(MomentFormat.of("yyyy-MM-dd'T'HH:mm:ss.SSS")));
+        assertEquals(MomentSwar.NUMERIC, layout(MomentFormat.of("yyyyMMddHHmmss")));
+        assertEquals(MomentSwar.NONE, layout(MomentFormat.of("yyyy-MM-dd HH:mm:ss")));
+    }
+
+    @Test
+    public void testParse() {
+        // 测试三种输入来源的解析结果一致
+        long expected = LocalDateTime.of(2025, 4, 16, 13, 26, 47, 123000000).toInstant(ZoneOffset.UTC).toEpochMilli();
+        String iso = "x2025-04-16T13:26:47.123Z";
+        assertEquals(expected, MomentSwar.parse(MomentSwar.ISO_Z, iso, 1));
+        assertEquals(expected, MomentSwar.parse(MomentSwar.ISO, iso.getBytes(StandardCharsets.US_ASCII), 1));
+        ByteBuffer buffer = ByteBuffer.wrap(iso.getBytes(StandardCharsets.US_ASCII));
+        assertEquals(expected, MomentSwar.parse(MomentSwar.ISO_Z, buffer, 1));
+        assertEquals(expected, MomentSwar.parse(MomentSwar.ISO_Z, buffer.order(ByteOrder.LITTLE_ENDIAN), 1));
+        assertEquals(expected - 123, MomentSwar.parse(MomentSwar.NUMERIC, "20250416132647", 0));
+        // 测试非法输入
+        assertEquals(MomentSwar.INVALID, MomentSwar.parse(MomentSwar.ISO_Z, "2025-04-16T13:26:47.123", 0));
+        assertEquals(MomentSwar.INVALID, MomentSwar.parse(MomentSwar.ISO, "2025-04-16 13:26:47.123", 0));
+        assertEquals(MomentSwar.INVALID, MomentSwar.parse(MomentSwar.ISO, "2025-02-29T13:26:47.123", 0));
+        assertEquals(MomentSwar.INVALID, MomentSwar.parse(MomentSwar.ISO, "2025-04-16T13:26:4:.123", 0));
+        assertEquals(MomentSwar.INVALID, MomentSwar.parse(MomentSwar.NUMERIC, "2025041613264/", 0));
+        assertEquals(MomentSwar.INVALID, MomentSwar.parse(MomentSwar.NUMERIC, "2025041613264０", 0));
+        assertEquals(MomentSwar.INVALID, MomentSwar.parse(MomentSwar.NUMERIC, "20250416", 0));
+    }
+
+    @Test
+    public void testAgainstGeneric() {
+        // 测试随机输入与通用解析的结果一致
+        Random random = new Random(7);
+        MomentFormat generic = MomentFormat.of("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'|");
+        char[] alphabet = "0123456789-T:.Z/".toCharArray();
+        for (int i = 0; i < 20000; i++) {
+            char[] chars = "2025-04-16T13:26:47.123Z".toCharArray();
+            for (int k = random.nextInt(3); k > 0; k--) {
+                chars[random.nextInt(chars.length)] = alphabet[random.nextInt(alphabet.length)];
+            }
+            String input = new String(chars);
+            Moment target = Moment.of(0L);
+            long status = generic.tryParse(input, 0, target, ZoneOffset.UTC);
+            long local = MomentSwar.parse(MomentSwar.ISO_Z, input, 0);
+            if (local != MomentSwar.INVALID) {
+                assertFalse(input, MomentFormat.isError(status));
+                assertEquals(input, target.getTimestamp(), local);
+            } else if (!MomentFormat.isError(status)) {
+                // 通用解析不校验原文且允许符号，两者不一致时必须是这两种情况
+                assertTrue(input, !input.matches("\\d{4}-\\d\\d-\\d\\dT\\d\\d:\\d\\d:\\d\\d\\.\\d{3}Z"));
+            }
+        }
+    }
+
+    private static int layout(MomentFormat format) {
+        return MomentSwar.layout(format.kinds, format.literals);
+    }
+}
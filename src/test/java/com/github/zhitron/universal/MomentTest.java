@@ -4,6 +4,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.Date;
 
 import static org.junit.Assert.*;
@@ -79,6 +80,9 @@ public class MomentTest {
         assertEquals("20250416", m.getDateAsStr());
         assertEquals("132647", m.getTimeAsStr());
         assertEquals(20250416132647L, m.getDateTimeAsNum());
+        assertEquals("04", m.getMonthAsStr());
+        assertEquals("06", m.setMillis(7).setMicros(5).setHour(6).getHourAsStr());
+        assertEquals("007005", m.getMillisAsStr() + m.getMicrosAsStr());
     }
 
     @Test
@@ -479,4 +483,117 @@ public class MomentTest {
         assertEquals(17, m4.getDayAsNum());
         assertEquals(13, m4.getHourAsNum());
     }
+
+    @Test
+    public void testTimestampDecomposition() {
+        // 测试时间戳分解为日历字段，覆盖1970年之前和远离1970年的时间
+        long[] inputs = {0L, -1L, -1000L, -86_400_000L, 951_782_400_000L, -62_135_596_800_000L,
+                -12_219_292_800_001L, 253_402_300_799_999L, 1_744_809_999_123L, -30_610_224_000_000L};
+        for (long input : inputs) {
+            Moment m = Moment.of(input);
+            LocalDateTime expected = LocalDateTime.ofEpochSecond(Math.floorDiv(input, 1000), (int) Math.floorMod(input, 1000) * 1000000, ZoneOffset.UTC);
+            assertEquals(expected.getYear(), m.getYearAsNum());
+            assertEquals(expected.getMonthValue(), m.getMonthAsNum());
+            assertEquals(expected.getDayOfMonth(), m.getDayAsNum());
+            assertEquals(expected.getHour(), m.getHourAsNum());
+            assertEquals(expected.getMinute(), m.getMinuteAsNum());
+            assertEquals(expected.getSecond(), m.getSecondAsNum());
+            assertEquals(expected.getNano() / 1000000, m.getMillisAsNum());
+            assertEquals(input, m.getTimestamp());
+        }
+    }
+
+    @Test
+    public void testTimestampRecomputation() {
+        // 测试由日历字段重新计算时间戳，覆盖1970年之前的日期
+        Moment m = new Moment();
+        m.setYear(1969).setMonth(12).setDay(31).setHour(23).setMinute(59).setSecond(59).setMillis(999);
+        assertEquals(-1L, m.getTimestamp());
+        m.setYear(1600).setMonth(2).setDay(29).setHour(0).setMinute(0).setSecond(0).setMillis(0);
+        assertEquals(LocalDateTime.of(1600, 2, 29, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli(), m.getTimestamp());
+        m.setYear(-4713).setMonth(11).setDay(24);
+        assertEquals(LocalDateTime.of(-4713, 11, 24, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli(), m.getTimestamp());
+        m.setYear(2400).setMonth(12).setDay(31).setMillis(1);
+        assertEquals(LocalDateTime.of(2400, 12, 31, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli() + 1, m.getTimestamp());
+    }
+
+    @Test
+    public void testDayMonthArithmeticOnEpochDay() {
+        // 测试大跨度的天数加减与java.time结果一致
+        Moment m = Moment.ofDateTime(20250416132647L);
+        m.addDay(1_000_000);
+        assertEquals(LocalDateTime.of(2025, 4, 16, 13, 26, 47).plusDays(1_000_000).toInstant(ZoneOffset.UTC).toEpochMilli(), m.getTimestamp());
+        m.addDay(-3_000_000);
+        assertEquals(LocalDateTime.of(2025, 4, 16, 13, 26, 47).plusDays(-2_000_000).toInstant(ZoneOffset.UTC).toEpochMilli(), m.getTimestamp());
+        // 测试1970年之前的日期加减
+        m = Moment.ofDate(19000228);
+        m.addDay(1);
+        assertEquals(19000301, m.getDateAsNum());
+        m.addDay(-366);
+        assertEquals(18990228, m.getDateAsNum());
+        // 测试加减月份保持月末截断
+        m = Moment.ofDate(20240229);
+        m.addMonth(-12);
+        assertEquals(20230228, m.getDateAsNum());
+        m = Moment.ofDate(20250531);
+        m.addMonth(-1_200_001);
+        assertEquals(-97975, m.getYearAsNum());
+        assertEquals(4, m.getMonthAsNum());
+        assertEquals(30, m.getDayAsNum());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIntegerOverflowInDay() {
+        // 测试加天数导致年份整数溢出
+        Moment.ofDate(20250416).addDay(Long.MAX_VALUE / 2);
+    }
+
+    @Test
+    public void testLazyDecomposition() {
+        // 测试只保存时间戳，首次读取字段时才分解
+        long timestamp = Moment.ofDateTime(20250416132647L).getTimestamp();
+        Moment m = Moment.ofLazily(timestamp);
+        assertEquals(timestamp, m.getTimestamp());
+        assertTrue(m.compareTo(Moment.ofLazily(timestamp + 1)) < 0);
+        assertEquals(20250416132647L, m.getDateTimeAsNum());
+        // 测试延迟分解后直接修改字段
+        m = Moment.ofLazily(timestamp);
+        m.addDay(1);
+        assertEquals(20250417132647L, m.getDateTimeAsNum());
+        m = Moment.ofLazily(timestamp);
+        m.setHour(1);
+        assertEquals(timestamp - 12 * 3600_000L, m.getTimestamp());
+        // 测试延迟分解后修改微秒和纳秒不影响时间戳
+        m = Moment.ofLazily(timestamp);
+        m.setMicros(5);
+        assertEquals(timestamp, m.getTimestamp());
+        m = Moment.ofLazily(timestamp);
+        m.setNanos(7);
+        assertEquals(timestamp, m.getTimestamp());
+        m = Moment.ofLazily(timestamp);
+        m.setMicrosIfCorrect(5).setNanosIfCorrect(7);
+        assertEquals(timestamp, m.getTimestamp());
+        assertEquals(5, m.getMicrosAsNum());
+        assertEquals(7, m.getNanosAsNum());
+        // 测试延迟分解后增加微秒和纳秒，不进位和进位到毫秒两种情况
+        m = Moment.ofLazily(timestamp);
+        m.addNanos(1);
+        assertEquals(timestamp, m.getTimestamp());
+        m = Moment.ofLazily(timestamp);
+        m.addMicros(5);
+        assertEquals(timestamp, m.getTimestamp());
+        m = Moment.ofLazily(timestamp);
+        m.addMicros(1500);
+        assertEquals(timestamp + 1, m.getTimestamp());
+        assertEquals(500, m.getMicrosAsNum());
+        m = Moment.ofLazily(timestamp);
+        m.addNanos(-1);
+        assertEquals(timestamp - 1, m.getTimestamp());
+        assertEquals(999, m.getNanosAsNum());
+        // 测试复制与不可变对象转换
+        m = Moment.ofLazily(timestamp);
+        assertEquals(20250416, m.toValue().getDateAsNum());
+        m.setTimestampLazily(0);
+        assertEquals("1970-01-01T00:00:00.000Z", m.toString());
+    }
 }
@@ -0,0 +1,40 @@
+package com.github.zhitron.universal;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * MomentTextBatch类的JUnit 4单元测试
+ */
+public class MomentTextBatchTest {
+
+    @Test
+    public void testParseToDate() throws Exception {
+        // 测试并行结果与逐篇解析一致且顺序不变
+        String[] samples = {"会议定于2025年5月1日召开，截止20250630", "上季度末和本月初的数据", "24年Q3季度初到去年年末", "无关的文本", "报告期为2023"};
+        List<String> documents = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) documents.add(samples[i % samples.length] + i);
+        Moment anchor = Moment.ofDate(20250416);
+        String[][] expected = new String[documents.size()][];
+        for (int i = 0; i < expected.length; i++) expected[i] = anchor.parseToDate(documents.get(i));
+        assertArrayEquals(expected, MomentTextBatch.parseToDate(anchor, documents));
+        assertArrayEquals(expected, MomentTextBatch.parseToDate(anchor, documents, new ForkJoinPool(4)));
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            assertArrayEquals(expected, MomentTextBatch.parseToDate(anchor, documents, executor, 4));
+        } finally {
+            executor.shutdown();
+        }
+        // 测试空输入和基准时间不被修改
+        assertEquals(0, MomentTextBatch.parseToDate(anchor, Collections.<String>emptyList()).length);
+        assertEquals(20250416, anchor.getDateAsNum());
+    }
+}
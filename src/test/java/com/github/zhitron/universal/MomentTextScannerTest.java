@@ -0,0 +1,101 @@
+package com.github.zhitron.universal;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * MomentTextScanner类的JUnit 4单元测试
+ */
+public class MomentTextScannerTest {
+
+    @Test
+    public void testParseToDate() {
+        // 测试各级格式按文本位置输出
+        Moment m = Moment.ofDate(20250416);
+        assertArrayEquals(new String[]{"20250501", "20250630"}, m.parseToDate("会议定于2025年5月1日召开，截止20250630"));
+        assertArrayEquals(new String[]{"20250330", "20250401"}, m.parseToDate("上季度末和本月初的数据"));
+        assertArrayEquals(new String[]{"20240701", "20241231"}, m.parseToDate("24年Q3季度初到去年年末"));
+        assertArrayEquals(new String[]{"20250630"}, m.parseToDate("第二季度营收"));
+        assertArrayEquals(new String[]{"20250630", "20230416"}, m.parseToDate("报告期为2023"));
+        assertArrayEquals(new String[0], m.parseToDate("无关的文本"));
+        // 测试基准时间不被修改
+        assertEquals(20250416, m.getDateAsNum());
+    }
+
+    @Test
+    public void testScan() {
+        // 测试匹配的类别和位置
+        List<String> spans = new ArrayList<>();
+        new MomentTextScanner(Moment.ofDate(20250416), "截止20250630，2024年").scan((kind, start, end, timestamp, date) ->
+                spans.add(kind + ":" + start + "-" + end + "=" + date));
+        // 年份后的“年”不属于同一个匹配：先由“中国日期”匹配“年”，剩下的“2024”由“只有年”匹配
+        assertEquals(3, spans.size());
+        assertEquals(MomentTextScanner.DATE_NUM + ":2-10=20250630", spans.get(0));
+        assertEquals(MomentTextScanner.YEAR + ":11-15=20240416", spans.get(1));
+        assertEquals(MomentTextScanner.DATE_FOR_CHINA + ":15-16=20251231", spans.get(2));
+    }
+
+    @Test
+    public void testBacktracking() {
+        // 测试空白既可以是分隔符也可以是数字之间的间隔时，与正则的回溯顺序一致
+        Moment m = Moment.ofDate(20250416);
+        assertArrayEquals(new String[]{"20250501"}, m.parseToDate("2025 5 1 "));
+        assertArrayEquals(new String[]{"20251231"}, m.parseToDate("(2025) 12/31 "));
+        assertArrayEquals(new String[]{"20251203"}, m.parseToDate("2 0 2 5年1 2月3 1日"));
+        assertArrayEquals(new String[]{"20251231", "20251001"}, m.parseToDate("第 三 季度末，Q 4季度初"));
+        // 测试没有月日时两位数字分别作为年份
+        List<String> spans = new ArrayList<>();
+        new MomentTextScanner(m, "25 3 8").scan((kind, start, end, timestamp, date) -> spans.add(kind + ":" + start + "-" + end));
+        assertEquals(2, spans.size());
+        assertEquals(MomentTextScanner.YEAR + ":0-3", spans.get(0));
+        assertEquals(MomentTextScanner.YEAR + ":3-6", spans.get(1));
+    }
+
+    @Test
+    public void testStreaming() {
+        // 测试回调的时间戳与日期一致，返回false时停止
+        List<Integer> dates = new ArrayList<>();
+        Moment m = Moment.ofDate(20250416);
+        m.parseToDate(new StringBuilder("2025年5月1日、20250630、第二季度"), (kind, start, end, timestamp, date) -> {
+            assertEquals(date, Moment.of(timestamp).getDateAsNum());
+            dates.add(date);
+            return dates.size() < 2;
+        });
+        assertEquals(2, dates.size());
+        assertEquals(20250501, (int) dates.get(0));
+        assertEquals(20250630, (int) dates.get(1));
+        // 测试长文本中的匹配位置
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 10000; i++) text.append("无关的内容，");
+        int offset = text.length();
+        text.append("20250630");
+        int[] span = new int[3];
+        m.parseToDate(text, (kind, start, end, timestamp, date) -> {
+            span[0] = kind;
+            span[1] = start;
+            span[2] = end;
+            return true;
+        });
+        assertArrayEquals(new int[]{MomentTextHandler.NUMERIC, offset, offset + 8}, span);
+    }
+
+    @Test
+    public void testResolvedCache() {
+        // 测试重复的相对期间命中缓存后结果不变，且保留基准时间的时分秒
+        String text = "上季度末、本月初、去年年末、第二季度、24年Q3季度初";
+        Moment anchor = Moment.ofDateTime(20250416132647L);
+        List<Long> first = new ArrayList<>(), second = new ArrayList<>();
+        anchor.parseToDate(text, (kind, start, end, timestamp, date) -> first.add(timestamp));
+        anchor.parseToDate(text, (kind, start, end, timestamp, date) -> second.add(timestamp));
+        assertEquals(first, second);
+        assertEquals(20250330132647L, Moment.of(first.get(0)).getDateTimeAsNum());
+        // 测试不同基准日期的相同文本互不影响
+        assertArrayEquals(new String[]{"20250330"}, Moment.ofDate(20250416).parseToDate("上季度末"));
+        assertArrayEquals(new String[]{"20250630"}, Moment.ofDate(20250716).parseToDate("上季度末"));
+        assertArrayEquals(new String[]{"20250330"}, Moment.ofDate(20250416).parseToDate("上季度末"));
+    }
+}
@@ -0,0 +1,77 @@
+package com.github.zhitron.universal;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * MomentValue类的JUnit 4单元测试
+ */
+public class MomentValueTest {
+
+    @Test
+    public void testConversion() {
+        // 测试与Moment的相互转换
+        Moment m = Moment.ofDateTime(20250416132647L).setMillis(123).setMicros(456).setNanos(789);
+        MomentValue v = m.toValue();
+        assertEquals(m.getTimestamp(), v.getTimestamp());
+        assertEquals(20250416, v.getDateAsNum());
+        assertEquals(132647, v.getTimeAsNum());
+        assertEquals(20250416132647L, v.getDateTimeAsNum());
+        assertEquals(123, v.getMillisAsNum());
+        assertEquals(456, v.getMicrosAsNum());
+        assertEquals(789, v.getNanosAsNum());
+        assertEquals(2, v.getQuarter());
+        Moment copy = v.toMoment();
+        assertEquals(m.getTimestamp(), copy.getTimestamp());
+        assertEquals(789, copy.getNanosAsNum());
+        assertEquals("2025-04-16T13:26:47.123Z", v.toString());
+    }
+
+    @Test
+    public void testImmutability() {
+        // 测试修改Moment或返回的新对象不影响原对象
+        Moment m = Moment.ofDate(20250416);
+        MomentValue v = MomentValue.of(m);
+        m.addDay(10);
+        assertEquals(20250416, v.getDateAsNum());
+        v.toMoment().addYear(1);
+        assertEquals(20250416, v.getDateAsNum());
+        MomentValue next = v.plusMonths(1).withDay(31);
+        assertEquals(20250531, next.getDateAsNum());
+        assertEquals(20250416, v.getDateAsNum());
+        assertSame(v, v.plusDays(0));
+    }
+
+    @Test
+    public void testWithAndPlus() {
+        // 测试with和plus系列方法与Moment的设置与增加规则一致
+        MomentValue v = MomentValue.of(Moment.ofDateTime(20250131235959L));
+        assertEquals(20250228, v.plusMonths(1).getDateAsNum());
+        assertEquals(20250201000000L, v.plusSeconds(1).getDateTimeAsNum());
+        assertEquals(20250201, v.plusDays(1).getDateAsNum());
+        assertEquals(20250201005959L, v.plusHours(1).getDateTimeAsNum());
+        assertEquals(20250201000059L, v.plusMinutes(1).getDateTimeAsNum());
+        assertEquals(20240131, v.plusYears(-1).getDateAsNum());
+        assertEquals(20240131, v.withYear(2024).getDateAsNum());
+        assertEquals(20250331, v.withMonth(3).getDateAsNum());
+        assertEquals(10, v.withHour(10).getHourAsNum());
+        assertEquals(10, v.withMinute(10).getMinuteAsNum());
+        assertEquals(10, v.withSecond(10).getSecondAsNum());
+        assertEquals(10, v.withMillis(10).getMillisAsNum());
+        assertEquals(1, v.plusMillis(1001).getMillisAsNum());
+    }
+
+    @Test
+    public void testCompareAndEquals() {
+        // 测试比较与相等
+        MomentValue a = MomentValue.of(1000L);
+        MomentValue b = MomentValue.of(1000L);
+        MomentValue c = a.withNanos(1);
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertNotEquals(a, c);
+        assertTrue(a.compareTo(c) < 0);
+        assertTrue(MomentValue.of(2000L).compareTo(c) > 0);
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.zhitron.universal;
+
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneRules;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * MomentZone类的JUnit 4单元测试
+ */
+public class MomentZoneTest {
+    private static final String[] ZONES = {"UTC", "Asia/Shanghai", "America/New_York", "Europe/London", "Australia/Lord_Howe", "Asia/Kolkata"};
+
+    @Test
+    public void testOffset() {
+        // 测试随机时刻的偏移与ZoneRules一致
+        Random random = new Random(3);
+        for (String id : ZONES) {
+            ZoneId zoneId = ZoneId.of(id);
+            ZoneRules rules = zoneId.getRules();
+            MomentZone zone = MomentZone.of(zoneId);
+            for (int i = 0; i < 20000; i++) {
+                long timestamp = (random.nextLong() % 8_000_000_000_000L);
+                assertEquals(id + "@" + timestamp, rules.getOffset(Instant.ofEpochMilli(timestamp)).getTotalSeconds() * 1000, zone.offset(timestamp));
+            }
+        }
+    }
+
+    @Test
+    public void testLocalOffset() {
+        // 测试本地时间的偏移与ZoneRules一致，包括夏令时的间隙和重叠
+        Random random = new Random(5);
+        for (String id : ZONES) {
+            ZoneId zoneId = ZoneId.of(id);
+            ZoneRules rules = zoneId.getRules();
+            MomentZone zone = MomentZone.of(zoneId);
+            for (int i = 0; i < 20000; i++) {
+                long local = (random.nextLong() % 8_000_000_000_000L) / 1000 * 1000;
+                LocalDateTime time = LocalDateTime.ofEpochSecond(local / 1000, 0, ZoneOffset.UTC);
+                assertEquals(id + "@" + time, rules.getOffset(time).getTotalSeconds() * 1000, zone.localOffset(local));
+            }
+        }
+        MomentZone zone = MomentZone.of(ZoneId.of("America/New_York"));
+        // 2025-03-09 02:30不存在，2025-11-02 01:30出现两次，都取变更前的偏移
+        assertEquals(-5 * Moment.HOUR_MS, zone.localOffset(LocalDateTime.of(2025, 3, 9, 2, 30).toEpochSecond(ZoneOffset.UTC) * 1000));
+        assertEquals(-4 * Moment.HOUR_MS, zone.localOffset(LocalDateTime.of(2025, 11, 2, 1, 30).toEpochSecond(ZoneOffset.UTC) * 1000));
+        assertEquals(-5 * Moment.HOUR_MS, zone.localOffset(LocalDateTime.of(2025, 11, 2, 2, 0).toEpochSecond(ZoneOffset.UTC) * 1000));
+    }
+
+    @Test
+    public void testParseAcrossDaylightSaving() {
+        // 测试解析和设置本地时间时按当时的偏移计算，而不是按当前时刻的偏移
+        ZoneId zoneId = ZoneId.of("America/New_York");
+        for (LocalDateTime time : new LocalDateTime[]{LocalDateTime.of(2025, 1, 15, 8, 0, 1), LocalDateTime.of(2025, 7, 15, 8, 0, 1, 123456789)}) {
+            long expected = time.atZone(zoneId).toInstant().toEpochMilli();
+            assertEquals(expected, Moment.of(time, zoneId).getTimestamp());
+            assertEquals(time.getNano() / 1000 % 1000, Moment.of(time, zoneId).getMicrosAsNum());
+            assertEquals(expected / 1000 * 1000, Moment.of(time.withNano(0).toString(), "yyyy-MM-dd'T'HH:mm:ss", zoneId).getTimestamp());
+            assertEquals(time.withNano(0).toString(), Moment.of(expected).toString("yyyy-MM-dd'T'HH:mm:ss", zoneId));
+        }
+    }
+
+    @Test
+    public void testOverflow() {
+        // 测试超出毫秒时间戳范围的本地时间抛出异常而不是溢出
+        Moment moment = Moment.of(0L);
+        for (LocalDateTime time : new LocalDateTime[]{LocalDateTime.MAX, LocalDateTime.MIN}) {
+            try {
+                moment.setTimestamp(time, ZoneId.of("Asia/Shanghai"));
+                fail();
+            } catch (ArithmeticException e) {
+                assertEquals(0L, moment.getTimestamp());
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.github.zhitron.universal;
+
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * MomentZoned类的JUnit 4单元测试
+ */
+public class MomentZonedTest {
+
+    @Test
+    public void testFields() {
+        // 测试本地字段与toLocalDateTime一致
+        Random random = new Random(9);
+        for (String id : new String[]{"Asia/Shanghai", "America/New_York", "Asia/Kolkata", "UTC"}) {
+            ZoneId zoneId = ZoneId.of(id);
+            Moment moment = new Moment();
+            MomentZoned zoned = moment.atZone(zoneId);
+            for (int i = 0; i < 5000; i++) {
+                moment.setTimestamp(random.nextLong() % 4_000_000_000_000L);
+                LocalDateTime time = moment.toLocalDateTime(zoneId);
+                int date = time.getYear() * 10000 + time.getMonthValue() * 100 + time.getDayOfMonth();
+                int clock = time.getHour() * 10000 + time.getMinute() * 100 + time.getSecond();
+                assertEquals(date, zoned.getDateAsNum());
+                assertEquals(clock, zoned.getTimeAsNum());
+                assertEquals(date * 1000000L + clock, zoned.getDateTimeAsNum());
+                assertEquals(time.getYear(), zoned.getYearAsNum());
+                assertEquals(time.getMonthValue(), zoned.getMonthAsNum());
+                assertEquals(time.getDayOfMonth(), zoned.getDayAsNum());
+                assertEquals((time.getMonthValue() + 2) / 3, zoned.getQuarter());
+                assertEquals(time.getHour(), zoned.getHourAsNum());
+                assertEquals(time.getMinute(), zoned.getMinuteAsNum());
+                assertEquals(date, moment.getDateAsNum(zoneId));
+                assertEquals(time.getHour(), moment.getHourAsNum(zoneId));
+            }
+        }
+    }
+
+    @Test
+    public void testView() {
+        // 测试视图始终读取对象的当前时间
+        Moment moment = Moment.ofDateTime(20250416200000L);
+        MomentZoned zoned = moment.atZone(ZoneId.of("Asia/Shanghai"));
+        assertEquals(20250417, zoned.getDateAsNum());
+        assertEquals(4, zoned.getHourAsNum());
+        assertEquals(8 * 3600 * 1000, zoned.getOffsetMillis());
+        moment.addHour(-5);
+        assertEquals(20250416, zoned.getDateAsNum());
+        assertEquals(23, zoned.getHourAsNum());
+        assertSame(moment, zoned.getMoment());
+    }
+}